@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.turkraft.springfilter.boot.Filter;
@@ -32,8 +33,9 @@ public class AdminController {
     @GetMapping("/employers/pending")
     @ApiMessage("Get pending employers")
     public ResponseEntity<ResultPaginationDTO> getPendingEmployers(
-            @Filter Specification<User> spec, Pageable pageable) {
-        return ResponseEntity.ok(userService.getPendingEmployers(spec, pageable));
+            @Filter Specification<User> spec, Pageable pageable,
+            @RequestParam(required = false, name = "filter") String filter) {
+        return ResponseEntity.ok(userService.getPendingEmployers(spec, pageable, filter));
     }
 
     @PutMapping("/employers/{id}/verify")
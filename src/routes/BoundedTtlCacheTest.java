@@ -0,0 +1,113 @@
+package vn.hstore.jobhunter.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedTtlCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(2, Long.MAX_VALUE);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(2, cache.size());
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void getCountsHitsAndMisses() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, Long.MAX_VALUE);
+        cache.put("a", 1);
+        cache.get("a");
+        cache.get("a");
+        cache.get("missing");
+
+        assertEquals(2L, cache.stats().get("hits"));
+        assertEquals(1L, cache.stats().get("misses"));
+        assertEquals(2.0 / 3, (double) cache.stats().get("hitRate"), 1e-9);
+    }
+
+    @Test
+    void getEntryAndContainsKeyAreNotCounted() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, Long.MAX_VALUE);
+        cache.put("a", 1);
+        assertNotNull(cache.getEntry("a"));
+        assertTrue(cache.containsKey("a"));
+        assertEquals(0L, cache.stats().get("hits"));
+        assertEquals(0L, cache.stats().get("misses"));
+
+        cache.recordHit();
+        cache.recordMiss();
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(1L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void expiredEntryIsAMissButStillReadableAsStale() {
+        // ttl âm: mọi phần tử hết hạn ngay khi được ghi
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, -1);
+        cache.put("a", 1);
+
+        assertNull(cache.get("a"));
+        assertFalse(cache.containsKey("a"));
+        assertEquals(1, cache.getEntry("a").getValue());
+        assertTrue(cache.getEntry("a").isExpired(-1));
+        assertEquals(1L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void getOrLoadCachesNonNullValuesOnly() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, Long.MAX_VALUE);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(7, cache.getOrLoad("a", k -> {
+            loads.incrementAndGet();
+            return 7;
+        }));
+        assertEquals(7, cache.getOrLoad("a", k -> {
+            loads.incrementAndGet();
+            return 8;
+        }));
+        assertNull(cache.getOrLoad("b", k -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void zeroSizeCacheStoresNothing() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(0, Long.MAX_VALUE);
+        cache.put("a", 1);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void removeAndRemoveIfDropEntries() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, Long.MAX_VALUE);
+        cache.put("job:1", 1);
+        cache.put("job:2", 2);
+        cache.put("user:1", 3);
+
+        assertEquals(1, cache.remove("job:1"));
+        assertNull(cache.remove("job:1"));
+        cache.removeIf(key -> key.startsWith("job:"));
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.get("user:1"));
+    }
+}
@@ -0,0 +1,33 @@
+package vn.hstore.jobhunter.service.event;
+
+/**
+ * Phát ra sau khi một CV được tạo, cập nhật hoặc xóa thành công.
+ */
+public class CVChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final long cvId;
+    private final Long userId;
+
+    public CVChangedEvent(Type type, long cvId, Long userId) {
+        this.type = type;
+        this.cvId = cvId;
+        this.userId = userId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getCvId() {
+        return cvId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+}
@@ -1,31 +1,53 @@
 package vn.hstore.jobhunter.controller;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ContentDisposition;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import vn.hstore.jobhunter.domain.CV;
 import vn.hstore.jobhunter.domain.request.CVRequestDTO;
 import vn.hstore.jobhunter.domain.response.RestResponse;
+import vn.hstore.jobhunter.domain.response.ResultPaginationDTO;
 import vn.hstore.jobhunter.service.CVService;
+import vn.hstore.jobhunter.service.CandidateMatchingService;
+import vn.hstore.jobhunter.service.CvBulkExportService;
+import vn.hstore.jobhunter.service.CvPrerenderService;
+import vn.hstore.jobhunter.service.PdfRenderExecutor;
+import vn.hstore.jobhunter.util.constant.CvLayoutEnum;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RestController
 @RequestMapping("/api/v1/gencv")
 public class CVController {
 
     private final CVService cvService;
-
-    public CVController(CVService cvService) {
+    private final CandidateMatchingService candidateMatchingService;
+    private final PdfRenderExecutor pdfRenderExecutor;
+    private final CvBulkExportService cvBulkExportService;
+    private final CvPrerenderService cvPrerenderService;
+
+    public CVController(CVService cvService, CandidateMatchingService candidateMatchingService,
+            PdfRenderExecutor pdfRenderExecutor, CvBulkExportService cvBulkExportService,
+            CvPrerenderService cvPrerenderService) {
         this.cvService = cvService;
+        this.candidateMatchingService = candidateMatchingService;
+        this.pdfRenderExecutor = pdfRenderExecutor;
+        this.cvBulkExportService = cvBulkExportService;
+        this.cvPrerenderService = cvPrerenderService;
     }
 
     @PostMapping("/create")
@@ -87,31 +109,145 @@ public class CVController {
         }
     }
 
-    @GetMapping(value = "/download/{cvId}", produces = MediaType.APPLICATION_PDF_VALUE)
-    public ResponseEntity<byte[]> downloadCVAsPDF(@PathVariable("cvId") Long cvId) {
+    // Trả về ResponseEntity khi lỗi, WebAsyncTask khi tải được (Spring chọn handler theo kiểu thực tế)
+    @GetMapping("/download/{cvId}")
+    public Object downloadCVAsPDF(@PathVariable("cvId") Long cvId,
+            @RequestParam(value = "layout", required = false) String layoutParam,
+            HttpServletResponse response) {
+        CVService.PdfDownload pdf;
         try {
             CV cv = cvService.getCVById(cvId);
-            byte[] pdfBytes = cvService.exportCVToPDF(cv);
-
-            if (pdfBytes == null || pdfBytes.length == 0) {
-                throw new RuntimeException("PDF xuất ra bị rỗng!");
-            }
+            CvLayoutEnum layout = CvLayoutEnum.from(layoutParam);
 
             String filename = "cv_" + (cv.getFullName() != null ? cv.getFullName().replaceAll("\\s+", "_") : "no_name") + ".pdf";
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
-            headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .contentLength(pdfBytes.length)
-                    .body(pdfBytes);
+            // Chưa có trong cache thì phải render trên pool render PDF; hết suất thì trả 503
+            pdf = cvService.preparePDF(cv, layout);
+            if (pdf == null) {
+                return renderBusyResponse();
+            }
 
+            response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(filename).build().toString());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "must-revalidate, post-check=0, pre-check=0");
         } catch (Exception e) {
             throw new RuntimeException("Lỗi khi tạo PDF: " + e.getMessage());
         }
+
+        // Không đặt Content-Length: PDF được ghi dần ra response (chunked). Hết giờ, lỗi hay task
+        // không kịp chạy thì onCompletion trả suất render / đóng file cache chưa dùng tới
+        WebAsyncTask<Void> task = new WebAsyncTask<>(cvService.getDownloadTimeoutMs(), () -> {
+            pdf.writeTo(response.getOutputStream());
+            return null;
+        });
+        task.onCompletion(pdf::discard);
+        return task;
+    }
+
+    // Trả về ResponseEntity khi lỗi, WebAsyncTask khi xuất được (Spring chọn handler theo kiểu thực tế)
+    @GetMapping("/export")
+    public Object exportCVsAsZip(
+            @RequestParam(value = "jobId", required = false) Long jobId,
+            @RequestParam(value = "cvIds", required = false) List<Long> cvIds,
+            @RequestParam(value = "layout", required = false) String layoutParam,
+            HttpServletResponse response) {
+        List<Long> ids = cvBulkExportService.resolveCvIds(jobId, cvIds);
+        if (ids.isEmpty() || ids.size() > cvBulkExportService.getMaxCvs()) {
+            RestResponse<Object> errorResponse = new RestResponse<>();
+            errorResponse.setStatusCode(400);
+            errorResponse.setError("Bad Request");
+            errorResponse.setMessage(ids.isEmpty()
+                    ? "Không có CV nào để xuất!"
+                    : "Chỉ được xuất tối đa " + cvBulkExportService.getMaxCvs() + " CV mỗi lần!");
+            errorResponse.setData(null);
+
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        PdfRenderExecutor.Permit permit = pdfRenderExecutor.acquire();
+        if (permit == null) {
+            return renderBusyResponse();
+        }
+
+        CvLayoutEnum layout = CvLayoutEnum.from(layoutParam);
+        String filename = jobId != null ? "cv_job_" + jobId + ".zip" : "cv_export.zip";
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+
+        // Mỗi PDF được ghi vào ZIP ngay khi render xong (chunked). Dùng WebAsyncTask để có timeout riêng,
+        // StreamingResponseBody chỉ dùng timeout async mặc định (30s) nên ZIP lớn bị cắt giữa chừng.
+        // exportZip trả suất khi xong; nếu task không kịp chạy (hết giờ / bị từ chối) thì onCompletion trả
+        AtomicBoolean started = new AtomicBoolean();
+        WebAsyncTask<Void> task = new WebAsyncTask<>(cvBulkExportService.getTimeoutMs(), () -> {
+            if (started.compareAndSet(false, true)) {
+                cvBulkExportService.exportZip(ids, layout, response.getOutputStream(), permit);
+            }
+            return null;
+        });
+        task.onCompletion(() -> {
+            if (started.compareAndSet(false, true)) {
+                permit.release();
+            }
+        });
+        return task;
+    }
+
+    private ResponseEntity<?> renderBusyResponse() {
+        RestResponse<Object> errorResponse = new RestResponse<>();
+        errorResponse.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorResponse.setError("Service Unavailable");
+        errorResponse.setMessage("Hệ thống đang tạo quá nhiều PDF, vui lòng thử lại sau!");
+        errorResponse.setData(null);
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(pdfRenderExecutor.getRetryAfterSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
+    }
+
+    @GetMapping("/layouts")
+    public ResponseEntity<?> getLayouts() {
+        List<Map<String, String>> layouts = new ArrayList<>();
+        for (CvLayoutEnum layout : CvLayoutEnum.values()) {
+            Map<String, String> item = new HashMap<>();
+            item.put("code", layout.name());
+            item.put("name", layout.getDisplayName());
+            layouts.add(item);
+        }
+
+        RestResponse<List<Map<String, String>>> response = new RestResponse<>();
+        response.setStatusCode(200);
+        response.setError(null);
+        response.setMessage("Lấy danh sách mẫu CV thành công!");
+        response.setData(layouts);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getPdfCacheStats() {
+        RestResponse<Map<String, Object>> response = new RestResponse<>();
+        response.setStatusCode(200);
+        response.setError(null);
+        response.setMessage("Lấy thống kê cache PDF thành công!");
+        response.setData(cvService.getPdfCacheStats());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/render/stats")
+    public ResponseEntity<?> getPdfRenderStats() {
+        RestResponse<Map<String, Object>> response = new RestResponse<>();
+        response.setStatusCode(200);
+        response.setError(null);
+        response.setMessage("Lấy thống kê render PDF thành công!");
+        Map<String, Object> stats = new HashMap<>(pdfRenderExecutor.stats());
+        stats.put("prerender", cvPrerenderService.stats());
+        response.setData(stats);
+
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/user/{userId}")
@@ -137,6 +273,38 @@ public class CVController {
         }
     }
 
+    @GetMapping("/job/{jobId}/matches")
+    public ResponseEntity<?> getMatchingCVs(@PathVariable("jobId") Long jobId, Pageable pageable) {
+        try {
+            Optional<ResultPaginationDTO> matches = candidateMatchingService.rankCandidates(jobId, pageable);
+            if (matches.isEmpty()) {
+                RestResponse<Object> errorResponse = new RestResponse<>();
+                errorResponse.setStatusCode(404);
+                errorResponse.setError("Not Found");
+                errorResponse.setMessage("Không tìm thấy công việc với id: " + jobId);
+                errorResponse.setData(null);
+
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            }
+
+            RestResponse<ResultPaginationDTO> response = new RestResponse<>();
+            response.setStatusCode(200);
+            response.setError(null);
+            response.setMessage("Xếp hạng CV phù hợp thành công!");
+            response.setData(matches.get());
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            RestResponse<Object> errorResponse = new RestResponse<>();
+            errorResponse.setStatusCode(500);
+            errorResponse.setError("Internal Server Error");
+            errorResponse.setMessage(e.getMessage());
+            errorResponse.setData(null);
+
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+
     @PutMapping("/{cvId}")
     public ResponseEntity<?> updateCV(@PathVariable("cvId") Long cvId, @Valid @RequestBody CVRequestDTO cvRequest) {
         try {
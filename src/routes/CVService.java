@@ -1,22 +1,19 @@
 package vn.hstore.jobhunter.service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.element.Cell;
-import com.itextpdf.layout.properties.TextAlignment;
-import com.itextpdf.layout.properties.UnitValue;
-
 import vn.hstore.jobhunter.domain.CV;
 import vn.hstore.jobhunter.domain.Job;
 import vn.hstore.jobhunter.domain.User;
@@ -24,7 +21,8 @@ import vn.hstore.jobhunter.domain.request.CVRequestDTO;
 import vn.hstore.jobhunter.repository.CVRepository;
 import vn.hstore.jobhunter.repository.JobRepository;
 import vn.hstore.jobhunter.repository.UserRepository;
-import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import vn.hstore.jobhunter.service.event.CVChangedEvent;
+import vn.hstore.jobhunter.util.constant.CvLayoutEnum;
 
 @Service
 public class CVService {
@@ -32,18 +30,39 @@ public class CVService {
     private final CVRepository cvRepository;
     private final UserRepository userRepository;
     private final JobRepository jobRepository;
+    private final CvPdfCache cvPdfCache;
+    private final PdfRenderExecutor pdfRenderExecutor;
+    private final CvTemplateEngine cvTemplateEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long downloadTimeoutMs;
 
-    public CVService(CVRepository cvRepository, UserRepository userRepository, JobRepository jobRepository) {
+    public CVService(CVRepository cvRepository, UserRepository userRepository, JobRepository jobRepository,
+            CvPdfCache cvPdfCache, PdfRenderExecutor pdfRenderExecutor,
+            CvTemplateEngine cvTemplateEngine, ApplicationEventPublisher eventPublisher,
+            @Value("${jobhunter.cv.download.timeout-ms:120000}") long downloadTimeoutMs) {
         this.cvRepository = cvRepository;
         this.userRepository = userRepository;
         this.jobRepository = jobRepository;
+        this.cvPdfCache = cvPdfCache;
+        this.pdfRenderExecutor = pdfRenderExecutor;
+        this.cvTemplateEngine = cvTemplateEngine;
+        this.eventPublisher = eventPublisher;
+        this.downloadTimeoutMs = downloadTimeoutMs;
+    }
+
+    /**
+     * Thời gian tối đa cho một lần tải PDF (render + stream); hết giờ thì suất render và file cache
+     * đang mở được trả qua PdfDownload.discard()
+     */
+    public long getDownloadTimeoutMs() {
+        return downloadTimeoutMs;
     }
 
     public CV createCV(CVRequestDTO cvRequest) {
         User user = userRepository.findById(cvRequest.getUserId())
                 .orElseThrow(() -> new RuntimeException("Không tìm thấy user"));
 
-        Job job = jobRepository.findById(cvRequest.getJobId()).orElse(null);
+        Job job = findJob(cvRequest.getJobId());
 
         CV cv = new CV();
         cv.setTitle(cvRequest.getTitle());
@@ -58,119 +77,128 @@ public class CVService {
         cv.setUser(user);
         cv.setJob(job);
 
-        return cvRepository.save(cv);
+        CV savedCV = cvRepository.save(cv);
+        eventPublisher.publishEvent(new CVChangedEvent(CVChangedEvent.Type.CREATED, savedCV.getId(), user.getId()));
+        return savedCV;
     }
 
-    public byte[] exportCVToPDF(CV cv) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
-
-            // Header với tên và thông tin liên hệ
-            Table headerTable = new Table(2);
-            headerTable.setWidth(UnitValue.createPercentValue(100));
-            
-            // Phần bên trái - Tên và tiêu đề
-            Cell leftCell = new Cell(2, 1);
-            leftCell.add(new Paragraph(cv.getTitle() != null ? cv.getTitle() : "CURRICULUM VITAE")
-                    .setFontSize(24)
-                    .setBold()
-                    .setTextAlignment(TextAlignment.LEFT));
-            leftCell.add(new Paragraph(cv.getFullName() != null ? cv.getFullName() : "")
-                    .setFontSize(20)
-                    .setBold()
-                    .setTextAlignment(TextAlignment.LEFT));
-            headerTable.addCell(leftCell);
-
-            // Phần bên phải - Thông tin liên hệ
-            Cell rightCell = new Cell(2, 1);
-            rightCell.add(new Paragraph("Thông tin liên hệ")
-                    .setFontSize(14)
-                    .setBold()
-                    .setTextAlignment(TextAlignment.RIGHT));
-            rightCell.add(new Paragraph(cv.getEmail() != null ? "Email: " + cv.getEmail() : "")
-                    .setFontSize(12)
-                    .setTextAlignment(TextAlignment.RIGHT));
-            rightCell.add(new Paragraph(cv.getPhoneNumber() != null ? "Số điện thoại: " + cv.getPhoneNumber() : "")
-                    .setFontSize(12)
-                    .setTextAlignment(TextAlignment.RIGHT));
-            rightCell.add(new Paragraph(cv.getAddress() != null ? "Địa chỉ: " + cv.getAddress() : "")
-                    .setFontSize(12)
-                    .setTextAlignment(TextAlignment.RIGHT));
-            headerTable.addCell(rightCell);
-
-            document.add(headerTable);
-            document.add(new Paragraph("\n"));
-
-            // Học vấn
-            if (cv.getEducation() != null && !cv.getEducation().isEmpty()) {
-                document.add(new Paragraph("Học vấn")
-                        .setFontSize(16)
-                        .setBold()
-                        .setTextAlignment(TextAlignment.LEFT));
-                document.add(new Paragraph(cv.getEducation())
-                        .setFontSize(12)
-                        .setTextAlignment(TextAlignment.LEFT));
-                document.add(new Paragraph("\n"));
-            }
+    /**
+     * Chuẩn bị tải PDF của CV. Quyết định đọc cache hay render và việc xin suất render chỉ nằm ở
+     * đây: PDF trong cache được mở ngay (không mất nếu bị đẩy khỏi cache trước khi stream), còn nếu
+     * phải render thì giữ một suất của PdfRenderExecutor. Trả về null khi pool render hết suất.
+     * Người gọi phải gọi writeTo() hoặc discard() (gọi cả hai cũng được).
+     */
+    public PdfDownload preparePDF(CV cv, CvLayoutEnum layout) {
+        String key = CvPdfCache.keyOf(cv, layout);
+        CvPdfCache.CachedPdf cached = cvPdfCache.open(key);
+        if (cached != null) {
+            return new PdfDownload(cv, layout, key, cached, null);
+        }
+        PdfRenderExecutor.Permit permit = pdfRenderExecutor.acquire();
+        if (permit == null) {
+            return null;
+        }
+        return new PdfDownload(cv, layout, key, null, permit);
+    }
+
+    /**
+     * Một lần tải PDF đã được nhận. Pool render chỉ ghi vào file cache rồi trả suất ngay;
+     * việc đẩy file ra client (có thể chậm) chạy trên luồng async của request.
+     *
+     * File cache đang mở và suất render thuộc về writeTo() nếu nó chạy trước, nếu không thì
+     * discard() trả chúng (request hết giờ / bị hủy trước khi kịp stream).
+     */
+    public class PdfDownload {
+        private final CV cv;
+        private final CvLayoutEnum layout;
+        private final String key;
+        private final CvPdfCache.CachedPdf cached;
+        private final PdfRenderExecutor.Permit permit;
+        private final AtomicBoolean claimed = new AtomicBoolean();
 
-            // Kinh nghiệm làm việc
-            if (cv.getExperience() != null && !cv.getExperience().isEmpty()) {
-                document.add(new Paragraph("Kinh nghiệm làm việc")
-                        .setFontSize(16)
-                        .setBold()
-                        .setTextAlignment(TextAlignment.LEFT));
-                document.add(new Paragraph(cv.getExperience())
-                        .setFontSize(12)
-                        .setTextAlignment(TextAlignment.LEFT));
-                document.add(new Paragraph("\n"));
+        private PdfDownload(CV cv, CvLayoutEnum layout, String key, CvPdfCache.CachedPdf cached,
+                PdfRenderExecutor.Permit permit) {
+            this.cv = cv;
+            this.layout = layout;
+            this.key = key;
+            this.cached = cached;
+            this.permit = permit;
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
             }
+            CvPdfCache.CachedPdf pdf = cached;
+            try {
+                if (pdf == null) {
+                    pdf = render();
+                }
+                pdf.transferTo(out);
+            } finally {
+                if (pdf != null) {
+                    pdf.close();
+                }
+            }
+        }
 
-            // Kỹ năng
-            if (cv.getSkills() != null && !cv.getSkills().isEmpty()) {
-                document.add(new Paragraph("Kỹ năng")
-                        .setFontSize(16)
-                        .setBold()
-                        .setTextAlignment(TextAlignment.LEFT));
-                
-                // Tạo bảng kỹ năng với 2 cột
-                Table skillsTable = new Table(2);
-                skillsTable.setWidth(UnitValue.createPercentValue(100));
-                
-                // Chia kỹ năng thành 2 cột
-                String[] skills = cv.getSkills().split("\n");
-                for (int i = 0; i < skills.length; i++) {
-                    Cell skillCell = new Cell();
-                    skillCell.add(new Paragraph(skills[i].trim())
-                            .setFontSize(12)
-                            .setTextAlignment(TextAlignment.LEFT));
-                    skillsTable.addCell(skillCell);
+        public void discard() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            if (permit != null) {
+                permit.release();
+            }
+            if (cached != null) {
+                try {
+                    cached.close();
+                } catch (IOException e) {
+                    System.out.println(">>> CV PDF CACHE CLOSE FAILED: " + e.getMessage());
                 }
-                
-                document.add(skillsTable);
-                document.add(new Paragraph("\n"));
             }
+        }
 
-            // Thông tin thêm
-            if (cv.getCustomContent() != null && !cv.getCustomContent().isEmpty()) {
-                document.add(new Paragraph("Thông tin thêm")
-                        .setFontSize(16)
-                        .setBold()
-                        .setTextAlignment(TextAlignment.LEFT));
-                document.add(new Paragraph(cv.getCustomContent())
-                        .setFontSize(12)
-                        .setTextAlignment(TextAlignment.LEFT));
+        // Suất render được trả trong chính task render (PdfRenderExecutor.execute)
+        private CvPdfCache.CachedPdf render() throws IOException {
+            try {
+                CvPdfCache.PendingFile pending = cvPdfCache.begin(key);
+                if (pending == null) {
+                    // Không ghi được file cache: render vào bộ nhớ
+                    byte[] pdf = pdfRenderExecutor.execute(() -> {
+                        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                        exportCVToPDF(cv, layout, baos);
+                        return baos.toByteArray();
+                    }, permit);
+                    return new CvPdfCache.CachedPdf(pdf, null);
+                }
+                try {
+                    pdfRenderExecutor.execute(() -> {
+                        exportCVToPDF(cv, layout, pending.getOutputStream());
+                        return null;
+                    }, permit);
+                    return pending.commitAndOpen();
+                } finally {
+                    pending.close();
+                }
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Lỗi khi tạo PDF: " + e.getMessage(), e);
             }
+        }
+    }
 
-            // Footer
-            document.add(new Paragraph("\n"));
-            document.add(new Paragraph("Được tạo bởi JobHunter - " + new java.text.SimpleDateFormat("dd/MM/yyyy HH:mm").format(new java.util.Date()))
-                    .setFontSize(10)
-                    .setTextAlignment(TextAlignment.CENTER));
+    public Map<String, Object> getPdfCacheStats() {
+        return cvPdfCache.stats();
+    }
 
-            document.close();
-            return baos.toByteArray();
+    /**
+     * Render PDF theo layout, ghi thẳng ra out (ví dụ output stream của response) thay vì gom vào byte[].
+     * Không đóng out.
+     */
+    public void exportCVToPDF(CV cv, CvLayoutEnum layout, OutputStream out) {
+        try {
+            cvTemplateEngine.render(cv, layout, out);
         } catch (Exception e) {
             throw new RuntimeException("Lỗi khi tạo PDF: " + e.getMessage());
         }
@@ -181,15 +209,6 @@ public class CVService {
                 .orElseThrow(() -> new RuntimeException("Không tìm thấy CV với id: " + cvId));
     }
 
-    private String sanitizeHtml(String input) {
-        if (input == null) {
-            return "";
-        }
-        return input.replace("<", "&lt;")
-                .replace(">", "&gt;")
-                .replace("\n", "<br>");
-    }
-
     public List<CV> getCVsByUserId(Long userId) {
         return cvRepository.findByUserId(userId);
     }
@@ -210,16 +229,35 @@ public class CVService {
         
         // Cập nhật job nếu có
         if (cvRequest.getJobId() != null) {
-            Job job = jobRepository.findById(cvRequest.getJobId()).orElse(null);
+            Job job = findJob(cvRequest.getJobId());
             cv.setJob(job);
         }
 
-        return cvRepository.save(cv);
+        CV savedCV = cvRepository.save(cv);
+        eventPublisher.publishEvent(new CVChangedEvent(CVChangedEvent.Type.UPDATED, savedCV.getId(), userIdOf(savedCV)));
+        return savedCV;
     }
 
     public void deleteCV(Long cvId) {
         CV cv = getCVById(cvId);
+        Long userId = userIdOf(cv);
         cvRepository.delete(cv);
+        eventPublisher.publishEvent(new CVChangedEvent(CVChangedEvent.Type.DELETED, cvId, userId));
+    }
+
+    /**
+     * Đọc job bằng findById (không dùng proxy getReferenceById): CV trả về cho client có
+     * job lồng bên trong, proxy chưa khởi tạo sẽ lỗi khi serialize ngoài transaction
+     */
+    private Job findJob(Long jobId) {
+        if (jobId == null) {
+            return null;
+        }
+        return jobRepository.findById(jobId).orElse(null);
+    }
+
+    private static Long userIdOf(CV cv) {
+        return cv.getUser() != null ? cv.getUser().getId() : null;
     }
 
 }
@@ -0,0 +1,291 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import vn.hstore.jobhunter.domain.CV;
+import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.domain.Skill;
+import vn.hstore.jobhunter.domain.response.ResCVMatchDTO;
+import vn.hstore.jobhunter.domain.response.ResultPaginationDTO;
+import vn.hstore.jobhunter.repository.CVRepository;
+import vn.hstore.jobhunter.repository.JobRepository;
+import vn.hstore.jobhunter.service.event.CVChangedEvent;
+import vn.hstore.jobhunter.util.BoundedTtlCache;
+import vn.hstore.jobhunter.util.SkillTermDictionary;
+import vn.hstore.jobhunter.util.TopKHeap;
+
+/**
+ * Xếp hạng các CV đã nộp cho một job theo mức độ phù hợp kỹ năng, phục vụ HR.
+ *
+ * Mỗi CV được chuyển một lần thành vector thưa (mảng id kỹ năng đã sắp xếp + tổng số
+ * kỹ năng) và giữ trong bộ nhớ đến khi CV thay đổi. Độ tương đồng cosine được tính song
+ * song trên ForkJoinPool, mỗi nhánh giữ top-K riêng rồi gộp lại.
+ */
+@Service
+public class CandidateMatchingService {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final JobRepository jobRepository;
+    private final CVRepository cvRepository;
+    private final SkillTermDictionary dictionary;
+    private final BoundedTtlCache<Long, CvVector> vectors;
+    private final int parallelThreshold;
+    private final int maxRanked;
+
+    public CandidateMatchingService(EntityManager entityManager,
+            JobRepository jobRepository,
+            CVRepository cvRepository,
+            JobRecommendationService jobRecommendationService,
+            @Value("${jobhunter.cv-matching.vector-cache.max-size:100000}") int vectorCacheSize,
+            @Value("${jobhunter.cv-matching.parallel-threshold:2048}") int parallelThreshold,
+            @Value("${jobhunter.cv-matching.max-ranked:1000}") int maxRanked) {
+        this.entityManager = entityManager;
+        this.jobRepository = jobRepository;
+        this.cvRepository = cvRepository;
+        // Dùng chung từ điển kỹ năng với bộ gợi ý job để id kỹ năng thống nhất
+        this.dictionary = jobRecommendationService.getDictionary();
+        this.vectors = new BoundedTtlCache<>(vectorCacheSize, Long.MAX_VALUE);
+        this.parallelThreshold = parallelThreshold;
+        this.maxRanked = maxRanked;
+    }
+
+    @EventListener
+    public void onCVChanged(CVChangedEvent event) {
+        this.vectors.remove(event.getCvId());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ResultPaginationDTO> rankCandidates(long jobId, Pageable pageable) {
+        Optional<Job> jobOpt = this.jobRepository.findById(jobId);
+        if (jobOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        int[] jobTerms = jobTerms(jobOpt.get());
+
+        List<Long> cvIds = this.entityManager.createQuery(
+                "select c.id from CV c where c.job.id = :jobId", Long.class)
+                .setParameter("jobId", jobId)
+                .getResultList();
+        CvVector[] candidates = loadVectors(cvIds, jobTerms);
+
+        // Chỉ xếp hạng tối đa maxRanked CV; meta cũng chỉ tính trong giới hạn đó
+        int total = Math.min(candidates.length, maxRanked);
+        int offset = (int) Math.min(pageable.getOffset(), total);
+        int k = Math.min(offset + pageable.getPageSize(), total);
+        long[] rankedIds = new long[k];
+        double[] rankedScores = new double[k];
+        int found = 0;
+        if (k > 0) {
+            TopKHeap top = ForkJoinPool.commonPool()
+                    .invoke(new ScoreTask(candidates, 0, candidates.length, jobTerms, k, parallelThreshold));
+            found = top.drainDescending(rankedIds, rankedScores);
+        }
+
+        int from = Math.min(offset, found);
+        List<ResCVMatchDTO> page = hydrate(rankedIds, rankedScores, from, found, jobTerms);
+
+        ResultPaginationDTO rs = new ResultPaginationDTO();
+        ResultPaginationDTO.Meta mt = new ResultPaginationDTO.Meta();
+        mt.setPage(pageable.getPageNumber() + 1);
+        mt.setPageSize(pageable.getPageSize());
+        mt.setPages(pageable.getPageSize() == 0 ? 1 : (int) Math.ceil((double) total / pageable.getPageSize()));
+        mt.setTotal(total);
+        rs.setMeta(mt);
+        rs.setResult(page);
+        return Optional.of(rs);
+    }
+
+    private int[] jobTerms(Job job) {
+        if (job.getSkills() == null || job.getSkills().isEmpty()) {
+            return new int[0];
+        }
+        int[] ids = new int[job.getSkills().size()];
+        int n = 0;
+        for (Skill skill : job.getSkills()) {
+            int id = dictionary.idOf(skill.getName());
+            if (id >= 0) {
+                ids[n++] = id;
+            }
+        }
+        return SkillTermDictionary.distinctSorted(ids, n);
+    }
+
+    /**
+     * Lấy vector từ cache, các CV chưa có vector được đọc theo lô (chỉ id và cột skills).
+     * Vector dựng trước khi từ điển có kỹ năng nào đó của job thì đọc lại, vì lúc đó kỹ năng này bị bỏ qua.
+     */
+    private CvVector[] loadVectors(List<Long> cvIds, int[] jobTerms) {
+        int newestJobTerm = jobTerms.length == 0 ? -1 : jobTerms[jobTerms.length - 1];
+        CvVector[] result = new CvVector[cvIds.size()];
+        List<Long> missing = new ArrayList<>();
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < result.length; i++) {
+            Long id = cvIds.get(i);
+            CvVector vector = this.vectors.get(id);
+            if (vector != null && vector.dictionarySize > newestJobTerm) {
+                result[i] = vector;
+            } else {
+                missing.add(id);
+                positions.put(id, i);
+            }
+        }
+
+        for (int from = 0; from < missing.size(); from += LOAD_BATCH_SIZE) {
+            List<Long> batch = missing.subList(from, Math.min(from + LOAD_BATCH_SIZE, missing.size()));
+            List<Object[]> rows = this.entityManager.createQuery(
+                    "select c.id, c.skills from CV c where c.id in :ids", Object[].class)
+                    .setParameter("ids", batch)
+                    .getResultList();
+            for (Object[] row : rows) {
+                long id = (Long) row[0];
+                CvVector vector = toVector(id, (String) row[1]);
+                this.vectors.put(id, vector);
+                result[positions.get(id)] = vector;
+            }
+        }
+
+        // CV bị xóa giữa hai câu truy vấn
+        int n = 0;
+        for (CvVector vector : result) {
+            if (vector != null) {
+                result[n++] = vector;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    private CvVector toVector(long cvId, String skillsText) {
+        // Mọi kỹ năng trong CV đều tính vào độ dài vector, nhưng chỉ kỹ năng đã có trong từ điển
+        // (có job yêu cầu) mới có id: kỹ năng lạ trong CV không làm từ điển dùng chung phình ra.
+        // Đọc size() trước khi tra cứu để biết vector đã xét tới id nào.
+        int dictionarySize = dictionary.size();
+        Set<String> skills = SkillTermDictionary.parseSkills(skillsText);
+        return new CvVector(cvId, dictionary.lookupAll(skills), skills.size(), dictionarySize);
+    }
+
+    private List<ResCVMatchDTO> hydrate(long[] ids, double[] scores, int from, int to, int[] jobTerms) {
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            pageIds.add(ids[i]);
+        }
+        Map<Long, CV> byId = new HashMap<>();
+        for (CV cv : this.cvRepository.findAllById(pageIds)) {
+            byId.put(cv.getId(), cv);
+        }
+
+        List<ResCVMatchDTO> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            CV cv = byId.get(ids[i]);
+            if (cv == null) {
+                continue;
+            }
+            ResCVMatchDTO dto = new ResCVMatchDTO();
+            dto.setCvId(cv.getId());
+            dto.setUserId(cv.getUser() != null ? cv.getUser().getId() : null);
+            dto.setTitle(cv.getTitle());
+            dto.setFullName(cv.getFullName());
+            dto.setEmail(cv.getEmail());
+            dto.setPhoneNumber(cv.getPhoneNumber());
+            CvVector vector = this.vectors.get(cv.getId());
+            dto.setMatchedSkills(vector == null ? 0 : intersectionSize(vector.terms, jobTerms));
+            dto.setScore(scores[i]);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    static int intersectionSize(int[] a, int[] b) {
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                n++;
+                i++;
+                j++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Vector kỹ năng nhị phân thưa của một CV
+     */
+    private static final class CvVector {
+        final long cvId;
+        // id kỹ năng (đã có trong từ điển), sắp xếp tăng dần
+        final int[] terms;
+        // tổng số kỹ năng khác nhau trong CV
+        final int length;
+        // size() của từ điển lúc dựng: terms đầy đủ với mọi id nhỏ hơn giá trị này
+        final int dictionarySize;
+
+        CvVector(long cvId, int[] terms, int length, int dictionarySize) {
+            this.cvId = cvId;
+            this.terms = terms;
+            this.length = length;
+            this.dictionarySize = dictionarySize;
+        }
+    }
+
+    private static final class ScoreTask extends RecursiveTask<TopKHeap> {
+        private final CvVector[] candidates;
+        private final int from;
+        private final int to;
+        private final int[] jobTerms;
+        private final int k;
+        private final int threshold;
+
+        ScoreTask(CvVector[] candidates, int from, int to, int[] jobTerms, int k, int threshold) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.jobTerms = jobTerms;
+            this.k = k;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected TopKHeap compute() {
+            if (to - from <= threshold) {
+                TopKHeap heap = new TopKHeap(k);
+                double jobNorm = Math.sqrt(jobTerms.length);
+                for (int i = from; i < to; i++) {
+                    CvVector cv = candidates[i];
+                    double score = 0;
+                    if (cv.length > 0 && jobTerms.length > 0) {
+                        score = intersectionSize(cv.terms, jobTerms) / (jobNorm * Math.sqrt(cv.length));
+                    }
+                    heap.offer(cv.cvId, score);
+                }
+                return heap;
+            }
+            int mid = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(candidates, from, mid, jobTerms, k, threshold);
+            ScoreTask right = new ScoreTask(candidates, mid, to, jobTerms, k, threshold);
+            left.fork();
+            TopKHeap merged = right.compute();
+            merged.addAll(left.join());
+            return merged;
+        }
+    }
+}
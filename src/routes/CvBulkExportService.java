@@ -0,0 +1,324 @@
+package vn.hstore.jobhunter.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.persistence.EntityManager;
+import vn.hstore.jobhunter.domain.CV;
+import vn.hstore.jobhunter.repository.CVRepository;
+import vn.hstore.jobhunter.util.constant.CvLayoutEnum;
+
+/**
+ * Xuất nhiều CV thành một file ZIP cho HR (theo job hoặc danh sách id CV).
+ *
+ * PDF được render song song trên pool render PDF (số việc đồng thời có giới hạn) vào file tạm của
+ * CvPdfCache, rồi được ghi vào ZipOutputStream của response theo thứ tự render xong. Không PDF nào
+ * nằm trọn trên heap; CV đã có trong cache thì copy thẳng, không render lại.
+ */
+@Service
+public class CvBulkExportService {
+
+    private static final int LOAD_BATCH_SIZE = 100;
+    private static final String ERRORS_ENTRY = "errors.txt";
+
+    private final EntityManager entityManager;
+    private final CVRepository cvRepository;
+    private final CvPdfCache cvPdfCache;
+    private final CvTemplateEngine cvTemplateEngine;
+    private final PdfRenderExecutor pdfRenderExecutor;
+    private final int parallelism;
+    private final int maxCvs;
+    private final long timeoutMs;
+
+    public CvBulkExportService(EntityManager entityManager,
+            CVRepository cvRepository,
+            CvPdfCache cvPdfCache,
+            CvTemplateEngine cvTemplateEngine,
+            PdfRenderExecutor pdfRenderExecutor,
+            @Value("${jobhunter.cv.bulk-export.parallelism:0}") int parallelism,
+            @Value("${jobhunter.cv.bulk-export.max-cvs:500}") int maxCvs,
+            @Value("${jobhunter.cv.bulk-export.timeout-ms:900000}") long timeoutMs) {
+        this.entityManager = entityManager;
+        this.cvRepository = cvRepository;
+        this.cvPdfCache = cvPdfCache;
+        this.cvTemplateEngine = cvTemplateEngine;
+        this.pdfRenderExecutor = pdfRenderExecutor;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxCvs = maxCvs;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public int getMaxCvs() {
+        return maxCvs;
+    }
+
+    /**
+     * Thời gian tối đa cho một file ZIP; timeout mặc định của request async (30s) quá ngắn
+     */
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * Id các CV cần xuất: theo job nếu có jobId, nếu không thì danh sách cvIds (bỏ trùng, giữ thứ tự)
+     */
+    public List<Long> resolveCvIds(Long jobId, List<Long> cvIds) {
+        if (jobId != null) {
+            return this.entityManager.createQuery(
+                    "select c.id from CV c where c.job.id = :jobId order by c.id", Long.class)
+                    .setParameter("jobId", jobId)
+                    .getResultList();
+        }
+        if (cvIds == null) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(cvIds));
+        ids.remove(null);
+        return ids;
+    }
+
+    /**
+     * Ghi ZIP ra out. base là suất người gọi đã xin (dùng cho việc render đầu tiên) và được trả khi
+     * xuất xong; các việc render thêm chỉ chạy khi pool còn suất trống, nên xuất hàng loạt không
+     * làm tải CV lẻ bị 503.
+     */
+    public void exportZip(List<Long> cvIds, CvLayoutEnum layout, OutputStream out, PdfRenderExecutor.Permit base)
+            throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        // PDF đã nén sẵn, nén thêm chỉ tốn CPU
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        ExportRun run = new ExportRun();
+        Deque<Long> remaining = new ArrayDeque<>(cvIds);
+        Deque<CV> loaded = new ArrayDeque<>();
+        List<String> errors = new ArrayList<>();
+        int inFlight = 0;
+        boolean baseInUse = false;
+
+        try {
+            while (!remaining.isEmpty() || !loaded.isEmpty() || inFlight > 0) {
+                // Nạp thêm việc render cho tới khi đủ số việc đồng thời hoặc pool hết suất
+                while (inFlight < this.parallelism) {
+                    if (loaded.isEmpty()) {
+                        loadBatch(remaining, loaded, errors);
+                    }
+                    CV cv = loaded.peek();
+                    if (cv == null) {
+                        break;
+                    }
+                    String key = CvPdfCache.keyOf(cv, layout);
+                    CvPdfCache.CachedPdf cached = this.cvPdfCache.open(key);
+                    if (cached != null) {
+                        loaded.poll();
+                        writeCached(zip, cv, cached);
+                        continue;
+                    }
+                    PdfRenderExecutor.Permit permit = baseInUse ? this.pdfRenderExecutor.acquireIfIdle() : base;
+                    if (permit == null) {
+                        break;
+                    }
+                    try {
+                        submit(new RenderedCv(cv, key, permit), layout, run);
+                    } catch (RejectedExecutionException e) {
+                        // Hàng đợi của pool đầy: trả suất vừa xin, CV này chờ lượt sau
+                        if (permit != base) {
+                            permit.release();
+                            break;
+                        }
+                        throw new IOException("Hệ thống đang tạo quá nhiều PDF", e);
+                    }
+                    loaded.poll();
+                    baseInUse |= permit == base;
+                    inFlight++;
+                }
+                if (inFlight == 0) {
+                    continue;
+                }
+
+                RenderedCv rendered = take(run.done);
+                inFlight--;
+                if (rendered.permit == base) {
+                    baseInUse = false;
+                } else {
+                    rendered.permit.release();
+                }
+                writeRendered(zip, rendered, errors);
+            }
+
+            if (!errors.isEmpty()) {
+                zip.putNextEntry(new ZipEntry(ERRORS_ENTRY));
+                zip.write(String.join("\n", errors).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.close();
+        } finally {
+            // Client ngắt / hết giờ giữa chừng: không chờ (luồng có thể đã bị interrupt). Việc đã
+            // render xong được dọn ngay, việc còn chạy tự trả suất và xóa file tạm khi kết thúc
+            if (inFlight > 0) {
+                run.abort();
+            }
+            if (!baseInUse) {
+                base.release();
+            }
+        }
+    }
+
+    private void loadBatch(Deque<Long> remaining, Deque<CV> loaded, List<String> errors) {
+        if (remaining.isEmpty()) {
+            return;
+        }
+        List<Long> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        while (batch.size() < LOAD_BATCH_SIZE && !remaining.isEmpty()) {
+            batch.add(remaining.poll());
+        }
+        Map<Long, CV> byId = new HashMap<>();
+        for (CV cv : this.cvRepository.findAllById(batch)) {
+            byId.put(cv.getId(), cv);
+        }
+        for (Long id : batch) {
+            CV cv = byId.get(id);
+            if (cv == null) {
+                errors.add("CV " + id + ": không tìm thấy");
+            } else {
+                loaded.add(cv);
+            }
+        }
+    }
+
+    private void submit(RenderedCv job, CvLayoutEnum layout, ExportRun run) {
+        this.pdfRenderExecutor.submit(() -> {
+            try {
+                if (run.aborted) {
+                    return null;
+                }
+                CvPdfCache.PendingFile file = this.cvPdfCache.begin(job.key);
+                if (file == null) {
+                    throw new IOException("không tạo được file tạm");
+                }
+                job.file = file;
+                this.cvTemplateEngine.render(job.cv, layout, file.getOutputStream());
+                return null;
+            } catch (Exception e) {
+                job.error = e;
+                throw e;
+            } finally {
+                run.finish(job);
+            }
+        });
+    }
+
+    /**
+     * File đã được mở trước khi ghi nên bị đẩy khỏi cache giữa chừng cũng không sao, không phải render lại
+     */
+    private void writeCached(ZipOutputStream zip, CV cv, CvPdfCache.CachedPdf cached) throws IOException {
+        try (cached) {
+            zip.putNextEntry(new ZipEntry(entryName(cv)));
+            cached.transferTo(zip);
+            zip.closeEntry();
+        }
+    }
+
+    private void writeRendered(ZipOutputStream zip, RenderedCv rendered, List<String> errors) throws IOException {
+        if (rendered.error != null) {
+            if (rendered.file != null) {
+                rendered.file.close();
+            }
+            errors.add("CV " + rendered.cv.getId() + ": " + rendered.error.getMessage());
+            return;
+        }
+        try {
+            zip.putNextEntry(new ZipEntry(entryName(rendered.cv)));
+            rendered.file.copyTo(zip);
+            zip.closeEntry();
+            rendered.file.commit();
+        } finally {
+            rendered.file.close();
+        }
+    }
+
+    private static RenderedCv take(BlockingQueue<RenderedCv> done) throws IOException {
+        try {
+            return done.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Xuất CV bị gián đoạn", e);
+        }
+    }
+
+    private static String entryName(CV cv) {
+        String name = cv.getFullName() != null
+                ? cv.getFullName().trim().replaceAll("[\\\\/:*?\"<>|]", "").replaceAll("\\s+", "_")
+                : "no_name";
+        return "cv_" + cv.getId() + "_" + name + ".pdf";
+    }
+
+    /**
+     * Hàng đợi các việc render xong của một lần xuất. Sau abort(), việc nào xong (hoặc đã xong mà
+     * chưa được lấy) thì bị hủy bởi luồng nào lấy được nó ra khỏi hàng đợi trước: suất render được
+     * trả và file tạm bị xóa đúng một lần.
+     */
+    private static final class ExportRun {
+        private final BlockingQueue<RenderedCv> done = new LinkedBlockingQueue<>();
+        private volatile boolean aborted = false;
+
+        void finish(RenderedCv job) {
+            done.add(job);
+            if (aborted) {
+                discardDone();
+            }
+        }
+
+        void abort() {
+            aborted = true;
+            discardDone();
+        }
+
+        private void discardDone() {
+            RenderedCv job;
+            while ((job = done.poll()) != null) {
+                job.permit.release();
+                if (job.file != null) {
+                    try {
+                        job.file.close();
+                    } catch (IOException e) {
+                        System.out.println(">>> CV EXPORT TEMP FILE CLEANUP FAILED: " + e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Một CV đang / đã render; các trường được ghi ở luồng render và đọc sau khi lấy ra từ hàng đợi
+     */
+    private static final class RenderedCv {
+        private final CV cv;
+        private final String key;
+        private final PdfRenderExecutor.Permit permit;
+        private CvPdfCache.PendingFile file;
+        private Exception error;
+
+        private RenderedCv(CV cv, String key, PdfRenderExecutor.Permit permit) {
+            this.cv = cv;
+            this.key = key;
+            this.permit = permit;
+        }
+    }
+}
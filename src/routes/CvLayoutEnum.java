@@ -0,0 +1,35 @@
+package vn.hstore.jobhunter.util.constant;
+
+/**
+ * Các mẫu trình bày CV khi xuất PDF
+ */
+public enum CvLayoutEnum {
+    CLASSIC("Cổ điển"),
+    MODERN("Hiện đại"),
+    MINIMAL("Tối giản"),
+    TECHNICAL("Kỹ thuật");
+
+    private final String displayName;
+
+    CvLayoutEnum(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Giá trị không hợp lệ hoặc để trống thì dùng mẫu CLASSIC
+     */
+    public static CvLayoutEnum from(String value) {
+        if (value != null) {
+            for (CvLayoutEnum layout : values()) {
+                if (layout.name().equalsIgnoreCase(value.trim())) {
+                    return layout;
+                }
+            }
+        }
+        return CLASSIC;
+    }
+}
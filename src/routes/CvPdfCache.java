@@ -0,0 +1,424 @@
+package vn.hstore.jobhunter.service;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import vn.hstore.jobhunter.domain.CV;
+import vn.hstore.jobhunter.service.event.CVChangedEvent;
+import vn.hstore.jobhunter.util.BoundedTtlCache;
+import vn.hstore.jobhunter.util.constant.CvLayoutEnum;
+
+/**
+ * Cache file PDF của CV theo địa chỉ nội dung: khóa là id CV + layout + SHA-256 của các trường
+ * được in ra PDF, nên CV không đổi thì tải lại chỉ là đọc cache. Hai tầng: bộ nhớ (LRU theo số file, chỉ PDF nhỏ) và
+ * đĩa cục bộ (LRU theo tổng dung lượng). Khi CV bị sửa / xóa thì file cũ bị xóa ngay.
+ */
+@Component
+public class CvPdfCache {
+
+    private static final String FILE_SUFFIX = ".pdf";
+    private static final String KEY_SEPARATOR = "_";
+    // Tăng khi thay đổi cách render để không dùng lại PDF cũ
+    private static final String RENDER_VERSION = "3";
+
+    private final BoundedTtlCache<String, byte[]> memory;
+    // PDF lớn hơn mức này chỉ nằm trên đĩa
+    private final long memoryEntryMaxBytes;
+    private final Path directory;
+    private final long diskMaxBytes;
+
+    // LRU của tầng đĩa: khóa -> kích thước file
+    private final LinkedHashMap<String, Long> diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskBytes = 0;
+    // "idCV_LAYOUT" -> khóa hiện tại, để xóa file khi CV thay đổi
+    private final Map<String, String> keyOfCv = new ConcurrentHashMap<>();
+
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder diskEvictions = new LongAdder();
+
+    public CvPdfCache(
+            @Value("${jobhunter.cv.pdf-cache.memory-max-size:200}") int memoryMaxSize,
+            @Value("${jobhunter.cv.pdf-cache.memory-entry-max-bytes:262144}") long memoryEntryMaxBytes,
+            @Value("${jobhunter.cv.pdf-cache-dir:${java.io.tmpdir}/jobhunter-cv-pdf}") String directory,
+            @Value("${jobhunter.cv.pdf-cache.disk-max-bytes:536870912}") long diskMaxBytes) throws IOException {
+        this.memory = new BoundedTtlCache<>(memoryMaxSize, Long.MAX_VALUE);
+        this.memoryEntryMaxBytes = memoryEntryMaxBytes;
+        this.directory = Paths.get(directory);
+        this.diskMaxBytes = diskMaxBytes;
+        Files.createDirectories(this.directory);
+        loadDiskEntries();
+    }
+
+    public static String keyOf(CV cv, CvLayoutEnum layout) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, RENDER_VERSION);
+            update(digest, layout.name());
+            update(digest, cv.getTitle());
+            update(digest, cv.getFullName());
+            update(digest, cv.getEmail());
+            update(digest, cv.getPhoneNumber());
+            update(digest, cv.getAddress());
+            update(digest, cv.getEducation());
+            update(digest, cv.getExperience());
+            update(digest, cv.getSkills());
+            update(digest, cv.getCustomContent());
+            return slotOf(cv.getId(), layout) + KEY_SEPARATOR + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        // Ngăn cách giữa các trường để "ab" + "c" khác "a" + "bc"
+        digest.update((byte) 0);
+    }
+
+    public boolean contains(String key) {
+        return this.memory.containsKey(key) || touchDiskEntry(key) != null;
+    }
+
+    /**
+     * Mở PDF trong cache để stream sau; null nếu chưa có. File đã mở vẫn đọc được kể cả khi bị đẩy
+     * khỏi cache trước khi stream xong. Người gọi phải close().
+     */
+    public CachedPdf open(String key) {
+        byte[] pdf = this.memory.get(key);
+        if (pdf != null) {
+            return new CachedPdf(pdf, null);
+        }
+        Path file = touchDiskEntry(key);
+        if (file == null) {
+            return null;
+        }
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            removeDiskEntry(key);
+            return null;
+        } catch (IOException e) {
+            System.out.println(">>> CV PDF CACHE READ FAILED: " + e.getMessage());
+            return null;
+        }
+        remember(key);
+        diskHits.increment();
+        // File nhỏ được đưa lên tầng bộ nhớ cho lần tải sau
+        byte[] bytes = promote(key, channel);
+        if (bytes != null) {
+            return new CachedPdf(bytes, null);
+        }
+        return new CachedPdf(null, channel);
+    }
+
+    /**
+     * PDF đã mở: mảng byte (tầng bộ nhớ) hoặc file trên đĩa.
+     * Tầng đĩa được chuyển bằng FileChannel.transferTo, không nạp cả file lên heap.
+     */
+    public static class CachedPdf implements Closeable {
+        private final byte[] bytes;
+        private final FileChannel channel;
+
+        CachedPdf(byte[] bytes, FileChannel channel) {
+            this.bytes = bytes;
+            this.channel = channel;
+        }
+
+        public void transferTo(OutputStream out) throws IOException {
+            if (bytes != null) {
+                out.write(bytes);
+            } else {
+                transfer(channel, out);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Mở file tạm để ghi PDF đang render; commit() mới đưa file vào cache.
+     * Trả về null nếu không tạo được file (khi đó chỉ render, không cache).
+     */
+    public PendingFile begin(String key) {
+        try {
+            Path tmp = Files.createTempFile(this.directory, key, ".tmp");
+            return new PendingFile(key, tmp, Files.newOutputStream(tmp));
+        } catch (IOException e) {
+            System.out.println(">>> CV PDF CACHE WRITE FAILED: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public class PendingFile implements Closeable {
+        private final String key;
+        private final Path tmp;
+        private final OutputStream out;
+        private boolean committed = false;
+
+        private PendingFile(String key, Path tmp, OutputStream out) {
+            this.key = key;
+            this.tmp = tmp;
+            this.out = new BufferedOutputStream(out);
+        }
+
+        public OutputStream getOutputStream() {
+            return out;
+        }
+
+        /**
+         * Kết thúc ghi và copy nội dung file tạm ra target (chưa đưa vào cache)
+         */
+        public void copyTo(OutputStream target) throws IOException {
+            out.close();
+            Files.copy(tmp, target);
+        }
+
+        public void commit() throws IOException {
+            out.close();
+            moveIntoCache();
+        }
+
+        /**
+         * Như commit() nhưng mở file trước khi đưa vào cache, nên vẫn đọc được nếu file bị đẩy
+         * khỏi cache ngay sau đó
+         */
+        public CachedPdf commitAndOpen() throws IOException {
+            out.close();
+            FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ);
+            byte[] bytes;
+            try {
+                bytes = moveIntoCache();
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            if (bytes != null) {
+                channel.close();
+                return new CachedPdf(bytes, null);
+            }
+            return new CachedPdf(null, channel);
+        }
+
+        /**
+         * Đưa file vào tầng đĩa; file nhỏ được giữ thêm ở tầng bộ nhớ (trả về nội dung, nếu không thì null)
+         */
+        private byte[] moveIntoCache() throws IOException {
+            long size = Files.size(tmp);
+            byte[] bytes = size <= memoryEntryMaxBytes ? Files.readAllBytes(tmp) : null;
+            remember(key);
+            Files.move(tmp, fileOf(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            addDiskEntry(key, size);
+            if (bytes != null) {
+                memory.put(key, bytes);
+            }
+            committed = true;
+            return bytes;
+        }
+
+        @Override
+        public void close() {
+            if (!committed) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    // bỏ qua, file tạm bị xóa ngay sau đây
+                }
+                deleteQuietly(tmp);
+            }
+        }
+    }
+
+    @EventListener
+    public void onCVChanged(CVChangedEvent event) {
+        if (event.getType() == CVChangedEvent.Type.CREATED) {
+            return;
+        }
+        for (CvLayoutEnum layout : CvLayoutEnum.values()) {
+            String key = this.keyOfCv.remove(slotOf(event.getCvId(), layout));
+            if (key != null) {
+                evict(key);
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("memory", this.memory.stats());
+        Map<String, Object> disk = new LinkedHashMap<>();
+        synchronized (this.diskEntries) {
+            disk.put("files", this.diskEntries.size());
+            disk.put("bytes", this.diskBytes);
+        }
+        disk.put("maxBytes", this.diskMaxBytes);
+        disk.put("hits", this.diskHits.sum());
+        disk.put("evictions", this.diskEvictions.sum());
+        stats.put("disk", disk);
+        return stats;
+    }
+
+    /**
+     * Ghi nhớ khóa hiện tại của CV theo layout; khóa cũ (nội dung cũ) bị xóa luôn
+     */
+    private void remember(String key) {
+        int separator = key.lastIndexOf(KEY_SEPARATOR);
+        if (separator <= 0) {
+            return;
+        }
+        String previous = this.keyOfCv.put(key.substring(0, separator), key);
+        if (previous != null && !previous.equals(key)) {
+            evict(previous);
+        }
+    }
+
+    private static String slotOf(Long cvId, CvLayoutEnum layout) {
+        return cvId + KEY_SEPARATOR + layout.name();
+    }
+
+    /**
+     * Nạp file nhỏ (không quá memory-entry-max-bytes) vào tầng bộ nhớ và đóng channel;
+     * trả về null (channel vẫn mở) nếu file lớn hoặc đọc lỗi
+     */
+    private byte[] promote(String key, FileChannel channel) {
+        try {
+            long size = channel.size();
+            if (size > this.memoryEntryMaxBytes) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, buffer.position()) < 0) {
+                    return null;
+                }
+            }
+            channel.close();
+            byte[] bytes = buffer.array();
+            this.memory.put(key, bytes);
+            return bytes;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void evict(String key) {
+        this.memory.remove(key);
+        removeDiskEntry(key);
+    }
+
+    private Path fileOf(String key) {
+        return this.directory.resolve(key + FILE_SUFFIX);
+    }
+
+    private Path touchDiskEntry(String key) {
+        synchronized (this.diskEntries) {
+            return this.diskEntries.get(key) != null ? fileOf(key) : null;
+        }
+    }
+
+    private void addDiskEntry(String key, long size) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (this.diskEntries) {
+            Long previous = this.diskEntries.put(key, size);
+            this.diskBytes += size - (previous == null ? 0 : previous);
+            Iterator<Map.Entry<String, Long>> it = this.diskEntries.entrySet().iterator();
+            while (this.diskBytes > this.diskMaxBytes && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                this.diskBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+            }
+        }
+        for (String k : evicted) {
+            diskEvictions.increment();
+            deleteQuietly(fileOf(k));
+        }
+    }
+
+    private void removeDiskEntry(String key) {
+        boolean removed;
+        synchronized (this.diskEntries) {
+            Long size = this.diskEntries.remove(key);
+            removed = size != null;
+            if (removed) {
+                this.diskBytes -= size;
+            }
+        }
+        if (removed) {
+            deleteQuietly(fileOf(key));
+        }
+    }
+
+    /**
+     * Nạp lại các file còn trên đĩa sau khi khởi động, file cũ nhất đứng đầu LRU
+     */
+    private void loadDiskEntries() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, "*" + FILE_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort((a, b) -> Long.compare(a.toFile().lastModified(), b.toFile().lastModified()));
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            String key = name.substring(0, name.length() - FILE_SUFFIX.length());
+            addDiskEntry(key, file.toFile().length());
+            remember(key);
+        }
+    }
+
+    private static void transfer(FileChannel channel, OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        long position = 0;
+        long size = channel.size();
+        while (position < size) {
+            position += channel.transferTo(position, size - position, target);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.out.println(">>> CV PDF CACHE DELETE FAILED: " + e.getMessage());
+        }
+    }
+}
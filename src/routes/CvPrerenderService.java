@@ -0,0 +1,195 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import vn.hstore.jobhunter.domain.CV;
+import vn.hstore.jobhunter.repository.CVRepository;
+import vn.hstore.jobhunter.service.event.CVChangedEvent;
+import vn.hstore.jobhunter.util.constant.CvLayoutEnum;
+
+/**
+ * Render trước PDF của CV ở nền sau khi CV được tạo / sửa, lưu vào tầng đĩa của CvPdfCache,
+ * để lần tải đầu tiên chỉ còn là đọc file.
+ *
+ * Mỗi CV chỉ có một lần render chờ trong hàng đợi: sửa nhiều lần liên tiếp trong khoảng trễ được
+ * gộp lại và render nội dung mới nhất. Việc render chỉ chạy khi pool render PDF còn suất trống,
+ * nếu không thì hoãn lại, để không tranh chỗ với người dùng đang tải CV.
+ */
+@Service
+public class CvPrerenderService {
+
+    private final CVRepository cvRepository;
+    private final CvPdfCache cvPdfCache;
+    private final CvTemplateEngine cvTemplateEngine;
+    private final PdfRenderExecutor pdfRenderExecutor;
+    private final boolean enabled;
+    private final long delayMillis;
+    private final long retryDelayMillis;
+    private final List<CvLayoutEnum> layouts = new ArrayList<>();
+    private final ScheduledExecutorService scheduler;
+
+    // CV đang chờ render trước
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    // Key cache của các layout đã đưa lên pool nhưng chưa ghi xong, để lần thử lại không render trùng
+    private final Set<String> rendering = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder rendered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public CvPrerenderService(CVRepository cvRepository,
+            CvPdfCache cvPdfCache,
+            CvTemplateEngine cvTemplateEngine,
+            PdfRenderExecutor pdfRenderExecutor,
+            @Value("${jobhunter.cv.prerender.enabled:true}") boolean enabled,
+            @Value("${jobhunter.cv.prerender.delay-ms:2000}") long delayMillis,
+            @Value("${jobhunter.cv.prerender.retry-delay-ms:5000}") long retryDelayMillis,
+            @Value("${jobhunter.cv.prerender.layouts:CLASSIC}") List<String> layouts) {
+        this.cvRepository = cvRepository;
+        this.cvPdfCache = cvPdfCache;
+        this.cvTemplateEngine = cvTemplateEngine;
+        this.pdfRenderExecutor = pdfRenderExecutor;
+        this.enabled = enabled;
+        this.delayMillis = delayMillis;
+        this.retryDelayMillis = retryDelayMillis;
+        for (String layout : layouts) {
+            CvLayoutEnum value = CvLayoutEnum.from(layout);
+            if (!this.layouts.contains(value)) {
+                this.layouts.add(value);
+            }
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cv-prerender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener
+    public void onCVChanged(CVChangedEvent event) {
+        if (!this.enabled) {
+            return;
+        }
+        if (event.getType() == CVChangedEvent.Type.DELETED) {
+            this.pending.remove(event.getCvId());
+            return;
+        }
+        if (!schedule(event.getCvId(), this.delayMillis)) {
+            coalesced.increment();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", this.enabled);
+        stats.put("layouts", this.layouts);
+        stats.put("pending", this.pending.size());
+        stats.put("rendering", this.rendering.size());
+        stats.put("scheduled", scheduled.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("deferred", deferred.sum());
+        stats.put("rendered", rendered.sum());
+        stats.put("failed", failed.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.scheduler.shutdownNow();
+    }
+
+    /**
+     * Trả về false nếu CV đã có trong hàng đợi (lần render đó sẽ đọc nội dung mới nhất)
+     */
+    private boolean schedule(long cvId, long delay) {
+        if (!this.pending.add(cvId)) {
+            return false;
+        }
+        scheduled.increment();
+        this.scheduler.schedule(() -> prerender(cvId), delay, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    private void prerender(long cvId) {
+        // CV bị xóa trong lúc chờ
+        if (!this.pending.remove(cvId)) {
+            return;
+        }
+        try {
+            Optional<CV> cvOpt = this.cvRepository.findById(cvId);
+            if (cvOpt.isEmpty()) {
+                return;
+            }
+            CV cv = cvOpt.get();
+            for (CvLayoutEnum layout : this.layouts) {
+                String key = CvPdfCache.keyOf(cv, layout);
+                if (this.rendering.contains(key) || this.cvPdfCache.contains(key)) {
+                    continue;
+                }
+                if (!this.pdfRenderExecutor.tryAcquireIfIdle()) {
+                    deferred.increment();
+                    schedule(cvId, this.retryDelayMillis);
+                    return;
+                }
+                this.rendering.add(key);
+                try {
+                    this.pdfRenderExecutor.submit(() -> {
+                        try {
+                            renderToCache(cv, layout, key);
+                            return null;
+                        } finally {
+                            this.rendering.remove(key);
+                            this.pdfRenderExecutor.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // Hàng đợi của pool đầy: trả suất vừa xin và thử lại sau
+                    this.rendering.remove(key);
+                    this.pdfRenderExecutor.release();
+                    deferred.increment();
+                    schedule(cvId, this.retryDelayMillis);
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            failed.increment();
+            System.out.println(">>> CV PRERENDER FAILED: cv " + cvId + " - " + e.getMessage());
+        }
+    }
+
+    private void renderToCache(CV cv, CvLayoutEnum layout, String key) throws Exception {
+        CvPdfCache.PendingFile file = this.cvPdfCache.begin(key);
+        if (file == null) {
+            return;
+        }
+        try {
+            this.cvTemplateEngine.render(cv, layout, file.getOutputStream());
+            file.commit();
+            rendered.increment();
+        } catch (Exception e) {
+            failed.increment();
+            System.out.println(">>> CV PRERENDER FAILED: cv " + cv.getId() + " - " + e.getMessage());
+            throw e;
+        } finally {
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package vn.hstore.jobhunter.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.openhtmltopdf.extend.impl.FSDefaultCacheStore;
+import com.openhtmltopdf.outputdevice.helper.BaseRendererBuilder;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+
+import vn.hstore.jobhunter.domain.CV;
+import vn.hstore.jobhunter.util.constant.CvLayoutEnum;
+
+/**
+ * Render CV ra PDF từ mẫu HTML (openhtmltopdf).
+ *
+ * Mẫu của mỗi layout được biên dịch một lần khi khởi động thành danh sách đoạn (chữ tĩnh / trường /
+ * khối điều kiện), nên mỗi lần render chỉ còn nối chuỗi. Font (hỗ trợ tiếng Việt) được đọc từ đĩa
+ * một lần và metrics của font được giữ trong cache dùng chung giữa các lần render.
+ *
+ * Cú pháp mẫu: {{field}} chèn giá trị đã escape, {{#field}}...{{/field}} chỉ hiện khi field có dữ liệu.
+ */
+@Component
+public class CvTemplateEngine {
+
+    private static final String FONT_FAMILY = "CvFont";
+    private static final String DEFAULT_FONT_PATH = "/usr/share/fonts/truetype/dejavu/DejaVuSans.ttf";
+    private static final String DEFAULT_BOLD_FONT_PATH = "/usr/share/fonts/truetype/dejavu/DejaVuSans-Bold.ttf";
+
+    private static final String[] FIELDS = {
+            "title", "fullName", "email", "phoneNumber", "address",
+            "education", "experience", "skills", "customContent" };
+    private static final int TITLE = 0;
+    private static final int FULL_NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int PHONE_NUMBER = 3;
+    private static final int ADDRESS = 4;
+    private static final int EDUCATION = 5;
+    private static final int EXPERIENCE = 6;
+    private static final int SKILLS = 7;
+    private static final int CUSTOM_CONTENT = 8;
+
+    private final Map<CvLayoutEnum, Segment[]> templates = new EnumMap<>(CvLayoutEnum.class);
+    private final Map<CvLayoutEnum, Integer> templateLengths = new EnumMap<>(CvLayoutEnum.class);
+    private final byte[] regularFont;
+    private final byte[] boldFont;
+    // Metrics font đã parse, dùng lại giữa các lần render
+    private final FSDefaultCacheStore fontCache = new FSDefaultCacheStore();
+
+    public CvTemplateEngine(
+            @Value("${jobhunter.cv.pdf.font-path:" + DEFAULT_FONT_PATH + "}") String fontPath,
+            @Value("${jobhunter.cv.pdf.font-bold-path:" + DEFAULT_BOLD_FONT_PATH + "}") String boldFontPath) {
+        for (CvLayoutEnum layout : CvLayoutEnum.values()) {
+            String source = sourceOf(layout);
+            this.templates.put(layout, compile(source, layout));
+            this.templateLengths.put(layout, source.length());
+        }
+        this.regularFont = readFont(fontPath);
+        this.boldFont = readFont(boldFontPath);
+        if (this.regularFont == null) {
+            System.out.println(">>> CV PDF FONT NOT FOUND: " + fontPath + ", tiếng Việt có thể hiển thị sai");
+        }
+    }
+
+    /**
+     * Render CV theo layout, ghi thẳng ra out. Không đóng out.
+     */
+    public void render(CV cv, CvLayoutEnum layout, OutputStream out) throws IOException {
+        String html = toHtml(cv, layout);
+
+        PdfRendererBuilder builder = new PdfRendererBuilder();
+        builder.useFastMode();
+        builder.useCacheStore(BaseRendererBuilder.CacheStore.PDF_FONT_METRICS, this.fontCache);
+        if (this.regularFont != null) {
+            byte[] regular = this.regularFont;
+            builder.useFont(() -> new ByteArrayInputStream(regular), FONT_FAMILY, 400,
+                    BaseRendererBuilder.FontStyle.NORMAL, true);
+        }
+        if (this.boldFont != null) {
+            byte[] bold = this.boldFont;
+            builder.useFont(() -> new ByteArrayInputStream(bold), FONT_FAMILY, 700,
+                    BaseRendererBuilder.FontStyle.NORMAL, true);
+        }
+        builder.withHtmlContent(html, null);
+        // PDFBox đóng stream sau khi lưu; chặn lại để out (response, ZIP) còn ghi tiếp được
+        builder.toStream(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
+        builder.run();
+    }
+
+    public String toHtml(CV cv, CvLayoutEnum layout) {
+        String[] values = new String[FIELDS.length];
+        values[TITLE] = sanitizeHtml(isBlank(cv.getTitle()) ? "CURRICULUM VITAE" : cv.getTitle());
+        values[FULL_NAME] = sanitizeHtml(cv.getFullName());
+        values[EMAIL] = sanitizeHtml(cv.getEmail());
+        values[PHONE_NUMBER] = sanitizeHtml(cv.getPhoneNumber());
+        values[ADDRESS] = sanitizeHtml(cv.getAddress());
+        values[EDUCATION] = sanitizeHtml(cv.getEducation());
+        values[EXPERIENCE] = sanitizeHtml(cv.getExperience());
+        values[SKILLS] = skillItems(cv.getSkills());
+        values[CUSTOM_CONTENT] = sanitizeHtml(cv.getCustomContent());
+
+        int length = this.templateLengths.get(layout);
+        for (String value : values) {
+            length += value.length();
+        }
+        StringBuilder html = new StringBuilder(length);
+        append(this.templates.get(layout), values, html);
+        return html.toString();
+    }
+
+    /**
+     * Escape nội dung người dùng nhập để chèn vào XHTML; xuống dòng thành <br/>.
+     * Bỏ các ký tự điều khiển không hợp lệ trong XML (trừ tab), nếu không trình parse sẽ báo lỗi
+     */
+    public static String sanitizeHtml(String input) {
+        if (input == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(input.length() + 16);
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            switch (c) {
+                case '&' -> sb.append("&amp;");
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '"' -> sb.append("&quot;");
+                case '\n' -> sb.append("<br/>");
+                case '\r' -> {
+                }
+                case '\t' -> sb.append(c);
+                default -> {
+                    if (c >= 0x20 && c != '\uFFFE' && c != '\uFFFF') {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Mỗi dòng kỹ năng là một <li>
+     */
+    private static String skillItems(String skills) {
+        if (isBlank(skills)) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(skills.length() * 2);
+        for (String skill : skills.split("\n")) {
+            String trimmed = skill.trim();
+            if (!trimmed.isEmpty()) {
+                sb.append("<li>").append(sanitizeHtml(trimmed)).append("</li>");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static byte[] readFont(String path) {
+        if (isBlank(path)) {
+            return null;
+        }
+        Path file = Paths.get(path);
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            System.out.println(">>> CV PDF FONT LOAD FAILED: " + path + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ===== Mẫu đã biên dịch =====
+
+    /**
+     * Một đoạn của mẫu: chữ tĩnh (text), trường (field) hoặc khối điều kiện (field + body)
+     */
+    private static final class Segment {
+        private final String text;
+        private final int field;
+        private final Segment[] body;
+
+        private Segment(String text, int field, Segment[] body) {
+            this.text = text;
+            this.field = field;
+            this.body = body;
+        }
+    }
+
+    private static void append(Segment[] segments, String[] values, StringBuilder out) {
+        for (Segment segment : segments) {
+            if (segment.text != null) {
+                out.append(segment.text);
+            } else if (segment.body == null) {
+                out.append(values[segment.field]);
+            } else if (!values[segment.field].isEmpty()) {
+                append(segment.body, values, out);
+            }
+        }
+    }
+
+    /**
+     * Biên dịch mẫu; mẫu sai cú pháp thì báo lỗi ngay khi khởi động
+     */
+    private static Segment[] compile(String source, CvLayoutEnum layout) {
+        Deque<List<Segment>> bodies = new ArrayDeque<>();
+        Deque<Integer> openFields = new ArrayDeque<>();
+        List<Segment> current = new ArrayList<>();
+        int pos = 0;
+        while (pos < source.length()) {
+            int start = source.indexOf("{{", pos);
+            if (start < 0) {
+                current.add(new Segment(source.substring(pos), -1, null));
+                break;
+            }
+            if (start > pos) {
+                current.add(new Segment(source.substring(pos, start), -1, null));
+            }
+            int end = source.indexOf("}}", start);
+            if (end < 0) {
+                throw new IllegalStateException("Mẫu CV " + layout + ": thiếu }} tại vị trí " + start);
+            }
+            String tag = source.substring(start + 2, end).trim();
+            if (tag.startsWith("#")) {
+                bodies.push(current);
+                openFields.push(fieldIndex(tag.substring(1), layout));
+                current = new ArrayList<>();
+            } else if (tag.startsWith("/")) {
+                int field = fieldIndex(tag.substring(1), layout);
+                if (openFields.isEmpty() || openFields.peek() != field) {
+                    throw new IllegalStateException("Mẫu CV " + layout + ": {{/" + tag.substring(1) + "}} không khớp");
+                }
+                openFields.pop();
+                Segment section = new Segment(null, field, current.toArray(new Segment[0]));
+                current = bodies.pop();
+                current.add(section);
+            } else {
+                current.add(new Segment(null, fieldIndex(tag, layout), null));
+            }
+            pos = end + 2;
+        }
+        if (!openFields.isEmpty()) {
+            throw new IllegalStateException("Mẫu CV " + layout + ": khối {{#" + FIELDS[openFields.peek()] + "}} chưa đóng");
+        }
+        return current.toArray(new Segment[0]);
+    }
+
+    private static int fieldIndex(String name, CvLayoutEnum layout) {
+        int index = Arrays.asList(FIELDS).indexOf(name.trim());
+        if (index < 0) {
+            throw new IllegalStateException("Mẫu CV " + layout + ": không có trường " + name);
+        }
+        return index;
+    }
+
+    // ===== Mã nguồn mẫu (XHTML) =====
+
+    private static String sourceOf(CvLayoutEnum layout) {
+        return switch (layout) {
+            case CLASSIC -> """
+                    <html><head><style>
+                    @page { size: A4; margin: 20mm; }
+                    body { font-family: CvFont, sans-serif; font-size: 12pt; color: #222; }
+                    .header { width: 100%; border-collapse: collapse; }
+                    .title { font-size: 24pt; font-weight: bold; }
+                    .name { font-size: 20pt; font-weight: bold; }
+                    .contact { text-align: right; vertical-align: top; }
+                    .contact-title { font-size: 14pt; font-weight: bold; }
+                    h2 { font-size: 16pt; margin: 18pt 0 6pt 0; }
+                    .skills { width: 100%; }
+                    .skills li { width: 48%; display: inline-block; }
+                    .footer { margin-top: 24pt; font-size: 10pt; text-align: center; color: #666; }
+                    </style></head><body>
+                    <table class="header"><tr>
+                    <td><div class="title">{{title}}</div><div class="name">{{fullName}}</div></td>
+                    <td class="contact"><div class="contact-title">Thông tin liên hệ</div>
+                    {{#email}}<div>Email: {{email}}</div>{{/email}}
+                    {{#phoneNumber}}<div>Số điện thoại: {{phoneNumber}}</div>{{/phoneNumber}}
+                    {{#address}}<div>Địa chỉ: {{address}}</div>{{/address}}
+                    </td></tr></table>
+                    {{#education}}<h2>Học vấn</h2><div>{{education}}</div>{{/education}}
+                    {{#experience}}<h2>Kinh nghiệm làm việc</h2><div>{{experience}}</div>{{/experience}}
+                    {{#skills}}<h2>Kỹ năng</h2><ul class="skills">{{skills}}</ul>{{/skills}}
+                    {{#customContent}}<h2>Thông tin thêm</h2><div>{{customContent}}</div>{{/customContent}}
+                    <div class="footer">Được tạo bởi JobHunter</div>
+                    </body></html>
+                    """;
+            case MODERN -> """
+                    <html><head><style>
+                    @page { size: A4; margin: 0; }
+                    body { font-family: CvFont, sans-serif; font-size: 11pt; color: #1f2937; margin: 0; }
+                    .layout { width: 100%; border-collapse: collapse; }
+                    .sidebar { width: 32%; background: #1e3a8a; color: #fff; padding: 24pt 16pt; vertical-align: top; }
+                    .main { padding: 24pt 20pt; vertical-align: top; }
+                    .name { font-size: 22pt; font-weight: bold; }
+                    .title { font-size: 13pt; color: #2563eb; margin-bottom: 12pt; }
+                    .side-heading { font-size: 12pt; font-weight: bold; margin: 16pt 0 6pt 0; text-transform: uppercase; }
+                    .sidebar ul { padding-left: 14pt; margin: 0; }
+                    h2 { font-size: 14pt; color: #1e3a8a; border-bottom: 2pt solid #2563eb; padding-bottom: 3pt; margin: 16pt 0 6pt 0; }
+                    .footer { margin-top: 24pt; font-size: 9pt; color: #6b7280; }
+                    </style></head><body>
+                    <table class="layout"><tr>
+                    <td class="sidebar">
+                    <div class="side-heading">Liên hệ</div>
+                    {{#email}}<div>{{email}}</div>{{/email}}
+                    {{#phoneNumber}}<div>{{phoneNumber}}</div>{{/phoneNumber}}
+                    {{#address}}<div>{{address}}</div>{{/address}}
+                    {{#skills}}<div class="side-heading">Kỹ năng</div><ul>{{skills}}</ul>{{/skills}}
+                    </td>
+                    <td class="main">
+                    <div class="name">{{fullName}}</div>
+                    <div class="title">{{title}}</div>
+                    {{#experience}}<h2>Kinh nghiệm làm việc</h2><div>{{experience}}</div>{{/experience}}
+                    {{#education}}<h2>Học vấn</h2><div>{{education}}</div>{{/education}}
+                    {{#customContent}}<h2>Thông tin thêm</h2><div>{{customContent}}</div>{{/customContent}}
+                    <div class="footer">Được tạo bởi JobHunter</div>
+                    </td></tr></table>
+                    </body></html>
+                    """;
+            case MINIMAL -> """
+                    <html><head><style>
+                    @page { size: A4; margin: 25mm; }
+                    body { font-family: CvFont, sans-serif; font-size: 11pt; color: #111; line-height: 1.5; }
+                    .name { font-size: 20pt; font-weight: bold; }
+                    .title { color: #555; }
+                    .contact { color: #555; font-size: 10pt; margin-top: 4pt; }
+                    h2 { font-size: 11pt; font-weight: bold; text-transform: uppercase; letter-spacing: 1pt; margin: 18pt 0 4pt 0; }
+                    ul { padding-left: 14pt; margin: 0; }
+                    .footer { margin-top: 24pt; font-size: 8pt; color: #999; }
+                    </style></head><body>
+                    <div class="name">{{fullName}}</div>
+                    <div class="title">{{title}}</div>
+                    <div class="contact">{{email}} {{#phoneNumber}}· {{phoneNumber}}{{/phoneNumber}} {{#address}}· {{address}}{{/address}}</div>
+                    {{#experience}}<h2>Kinh nghiệm</h2><div>{{experience}}</div>{{/experience}}
+                    {{#education}}<h2>Học vấn</h2><div>{{education}}</div>{{/education}}
+                    {{#skills}}<h2>Kỹ năng</h2><ul>{{skills}}</ul>{{/skills}}
+                    {{#customContent}}<h2>Khác</h2><div>{{customContent}}</div>{{/customContent}}
+                    <div class="footer">JobHunter</div>
+                    </body></html>
+                    """;
+            case TECHNICAL -> """
+                    <html><head><style>
+                    @page { size: A4; margin: 18mm; }
+                    body { font-family: CvFont, sans-serif; font-size: 11pt; color: #1a1a1a; }
+                    .top { border-left: 6pt solid #059669; padding-left: 10pt; }
+                    .name { font-size: 22pt; font-weight: bold; }
+                    .title { font-size: 12pt; color: #059669; }
+                    .contact { width: 100%; margin-top: 8pt; font-size: 10pt; }
+                    h2 { font-size: 13pt; color: #059669; margin: 16pt 0 6pt 0; }
+                    .skills li { display: inline-block; border: 1pt solid #059669; border-radius: 3pt; padding: 2pt 6pt; margin: 0 4pt 4pt 0; }
+                    .skills { padding: 0; margin: 0; }
+                    .footer { margin-top: 24pt; font-size: 9pt; color: #666; text-align: right; }
+                    </style></head><body>
+                    <div class="top"><div class="name">{{fullName}}</div><div class="title">{{title}}</div></div>
+                    <table class="contact"><tr>
+                    <td>{{#email}}Email: {{email}}{{/email}}</td>
+                    <td>{{#phoneNumber}}SĐT: {{phoneNumber}}{{/phoneNumber}}</td>
+                    <td>{{#address}}Địa chỉ: {{address}}{{/address}}</td>
+                    </tr></table>
+                    {{#skills}}<h2>Kỹ năng kỹ thuật</h2><ul class="skills">{{skills}}</ul>{{/skills}}
+                    {{#experience}}<h2>Kinh nghiệm làm việc</h2><div>{{experience}}</div>{{/experience}}
+                    {{#education}}<h2>Học vấn</h2><div>{{education}}</div>{{/education}}
+                    {{#customContent}}<h2>Dự án / Thông tin thêm</h2><div>{{customContent}}</div>{{/customContent}}
+                    <div class="footer">Được tạo bởi JobHunter</div>
+                    </body></html>
+                    """;
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package vn.hstore.jobhunter.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class CvTemplateEngineTest {
+
+    @Test
+    void sanitizeHtmlEscapesMarkup() {
+        assertEquals("&lt;script&gt;alert(&quot;x&quot;)&lt;/script&gt; &amp;amp;",
+                CvTemplateEngine.sanitizeHtml("<script>alert(\"x\")</script> &amp;"));
+    }
+
+    @Test
+    void sanitizeHtmlTurnsLineBreaksIntoBr() {
+        assertEquals("Dòng 1<br/>Dòng 2<br/>", CvTemplateEngine.sanitizeHtml("Dòng 1\r\nDòng 2\n"));
+    }
+
+    @Test
+    void sanitizeHtmlDropsCharactersInvalidInXml() {
+        assertEquals("a\tbcd", CvTemplateEngine.sanitizeHtml("a\tb\u0000c\u0008\u001Fd\uFFFE\uFFFF"));
+    }
+
+    @Test
+    void sanitizeHtmlKeepsVietnameseTextAndHandlesNull() {
+        assertEquals("Nguyễn Văn Đức's CV", CvTemplateEngine.sanitizeHtml("Nguyễn Văn Đức's CV"));
+        assertEquals("", CvTemplateEngine.sanitizeHtml(null));
+    }
+}
@@ -51,10 +51,16 @@ public class DatabaseInitializer implements CommandLineRunner {
             arr.add(new Permission("Get companies with pagination", "/api/v1/companies", "GET", "COMPANIES"));
 
             arr.add(new Permission("Create a job", "/api/v1/jobs", "POST", "JOBS"));
+            arr.add(new Permission("Create jobs in bulk", "/api/v1/jobs/bulk", "POST", "JOBS"));
             arr.add(new Permission("Update a job", "/api/v1/jobs", "PUT", "JOBS"));
             arr.add(new Permission("Delete a job", "/api/v1/jobs/{id}", "DELETE", "JOBS"));
             arr.add(new Permission("Get a job by id", "/api/v1/jobs/{id}", "GET", "JOBS"));
             arr.add(new Permission("Get jobs with pagination", "/api/v1/jobs", "GET", "JOBS"));
+            arr.add(new Permission("Export jobs", "/api/v1/jobs/export", "GET", "JOBS"));
+            arr.add(new Permission("Get job facets", "/api/v1/jobs/facets", "GET", "JOBS"));
+            arr.add(new Permission("Search jobs", "/api/v1/jobs/search", "GET", "JOBS"));
+            arr.add(new Permission("Get most viewed jobs", "/api/v1/jobs/popular", "GET", "JOBS"));
+            arr.add(new Permission("Get recommended jobs", "/api/v1/jobs/recommendations", "GET", "JOBS"));
 
             arr.add(new Permission("Create a permission", "/api/v1/permissions", "POST", "PERMISSIONS"));
             arr.add(new Permission("Update a permission", "/api/v1/permissions", "PUT", "PERMISSIONS"));
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -168,6 +169,66 @@ public class EmployerSubscriptionService {
         return result;
     }
     
+    /**
+     * Giữ chỗ quota cho nhiều tin đăng cùng lúc (đăng tin hàng loạt) trong một transaction:
+     * dùng lượt miễn phí hôm nay trước, sau đó đến các gói VIP (gói sắp hết hạn trước).
+     *
+     * @return số lượt giữ chỗ được, có thể nhỏ hơn count nếu không đủ quota
+     */
+    @Transactional
+    public int reserveJobPostingQuota(Long userId, Long companyId, int count) {
+        if (count <= 0) {
+            return 0;
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng"));
+        
+        Company company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new RuntimeException("Không tìm thấy công ty"));
+        
+        // Lượt miễn phí hôm nay
+        LocalDate today = LocalDate.now();
+        JobPostingUsage usage = jobPostingUsageRepository.findByUserAndCompanyAndPostingDate(user, company, today)
+                .orElseGet(() -> {
+                    JobPostingUsage newUsage = new JobPostingUsage();
+                    newUsage.setUser(user);
+                    newUsage.setCompany(company);
+                    newUsage.setPostingDate(today);
+                    newUsage.setUsedCount(0);
+                    return newUsage;
+                });
+        int freeReserved = Math.max(0, Math.min(count, usage.getFreeLimit() - usage.getUsedCount()));
+        if (freeReserved > 0 || usage.getId() == null) {
+            usage.setUsedCount(usage.getUsedCount() + freeReserved);
+            jobPostingUsageRepository.save(usage);
+        }
+        
+        int remaining = count - freeReserved;
+        if (remaining == 0) {
+            return count;
+        }
+        
+        // Phần còn lại lấy từ các gói VIP
+        List<EmployerSubscription> activeSubscriptions = employerSubscriptionRepository
+                .findByUserIdAndStatusAndEndDateAfter(userId, "ACTIVE", Instant.now());
+        List<EmployerSubscription> changed = new ArrayList<>();
+        for (EmployerSubscription subscription : activeSubscriptions) {
+            if (remaining == 0) {
+                break;
+            }
+            int taken = Math.min(remaining, subscription.getRemainingPosts());
+            if (taken > 0) {
+                subscription.setRemainingPosts(subscription.getRemainingPosts() - taken);
+                changed.add(subscription);
+                remaining -= taken;
+            }
+        }
+        if (!changed.isEmpty()) {
+            employerSubscriptionRepository.saveAll(changed);
+        }
+        return count - remaining;
+    }
+    
     public Integer getTotalRemainingPostsByUserId(Long userId) {
         return employerSubscriptionRepository.getTotalRemainingPostsByUserId(userId, Instant.now());
     }
@@ -0,0 +1,327 @@
+package vn.hstore.jobhunter.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.domain.Skill;
+import vn.hstore.jobhunter.domain.User;
+import vn.hstore.jobhunter.domain.response.job.ResBulkJobDTO;
+import vn.hstore.jobhunter.util.JobLocationCodes;
+import vn.hstore.jobhunter.util.VietnameseTextFolder;
+
+/**
+ * Đăng nhiều tin tuyển dụng trong một request: kiểm tra từng job, giữ chỗ quota cho cả lô
+ * theo từng công ty, rồi insert bằng JDBC batch (jobs và job_skill). Tất cả nằm trong
+ * một transaction nên nếu insert lỗi thì quota cũng được hoàn lại.
+ */
+@Service
+public class JobBulkImportService {
+
+    // Các cột được ghi khi insert bằng JDBC (thứ tự khớp bindJob). Không qua JPA nên giá trị mà entity
+    // Job / @PrePersist tự điền (created_at, created_by) được ghi tay; các cột khác lấy DEFAULT của
+    // database. Khi khởi động, verifyInsertColumns() kiểm tra danh sách này đủ mọi cột NOT NULL không
+    // có DEFAULT của bảng jobs, nếu thiếu thì tắt đăng hàng loạt thay vì insert lỗi / lệch với JPA.
+    private static final List<String> INSERT_COLUMNS = List.of("name", "location", "salary", "quantity",
+            "level", "description", "start_date", "end_date", "active", "company_id",
+            "created_at", "created_by");
+    private static final String INSERT_JOB = "INSERT INTO jobs (" + String.join(", ", INSERT_COLUMNS) + ")"
+            + " VALUES (" + String.join(", ", Collections.nCopies(INSERT_COLUMNS.size(), "?")) + ")";
+    private static final String INSERT_JOB_SKILL = "INSERT INTO job_skill (job_id, skill_id) VALUES (?, ?)";
+    private static final String INSERT_JOB_LOCATION_CODE =
+            "INSERT INTO job_location_codes (job_id, location_code) VALUES (?, ?)";
+    private static final String INSERT_JOB_SEARCH_NAME =
+            "INSERT INTO job_search_names (job_id, folded_name) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final UserService userService;
+    private final EmployerSubscriptionService employerSubscriptionService;
+    private final int maxBatchSize;
+    // Cột NOT NULL không có DEFAULT mà INSERT_COLUMNS chưa ghi (rỗng = an toàn)
+    private volatile List<String> uncoveredColumns = List.of();
+
+    public JobBulkImportService(JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            Validator validator,
+            UserService userService,
+            EmployerSubscriptionService employerSubscriptionService,
+            @Value("${jobhunter.jobs.bulk.max-size:100}") int maxBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.userService = userService;
+        this.employerSubscriptionService = employerSubscriptionService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyInsertColumns() {
+        List<String> required = this.jdbcTemplate.queryForList(
+                "SELECT COLUMN_NAME FROM information_schema.COLUMNS"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'jobs'"
+                        + " AND IS_NULLABLE = 'NO' AND COLUMN_DEFAULT IS NULL"
+                        + " AND EXTRA NOT LIKE '%auto_increment%' AND EXTRA NOT LIKE '%GENERATED%'",
+                String.class);
+        List<String> missing = new ArrayList<>();
+        for (String column : required) {
+            if (!INSERT_COLUMNS.contains(column.toLowerCase())) {
+                missing.add(column);
+            }
+        }
+        this.uncoveredColumns = missing;
+        if (!missing.isEmpty()) {
+            System.out.println(">>> JOB BULK IMPORT DISABLED, missing NOT NULL columns: " + missing);
+        }
+    }
+
+    @Transactional
+    public ResBulkJobDTO importJobs(List<Job> jobs) {
+        if (!this.uncoveredColumns.isEmpty()) {
+            throw new IllegalStateException("Đăng hàng loạt đang tắt: bảng jobs có cột bắt buộc chưa được ghi "
+                    + this.uncoveredColumns);
+        }
+        User currentUser = this.userService.getCurrentUser();
+        if (currentUser == null) {
+            throw new RuntimeException("Không xác định được người dùng hiện tại");
+        }
+
+        ResBulkJobDTO res = new ResBulkJobDTO();
+        res.setTotal(jobs.size());
+        ResBulkJobDTO.ItemResult[] results = new ResBulkJobDTO.ItemResult[jobs.size()];
+
+        // 1. Kiểm tra dữ liệu từng job (company / skill được kiểm tra tồn tại bằng 2 câu truy vấn)
+        Set<Long> companyIds = existingIds("Company", collectCompanyIds(jobs));
+        Set<Long> skillIds = existingIds("Skill", collectSkillIds(jobs));
+        Map<Long, List<Integer>> validByCompany = new LinkedHashMap<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            Job job = jobs.get(i);
+            String error = validate(job, companyIds, skillIds);
+            if (error != null) {
+                results[i] = failure(i, job, error);
+            } else {
+                validByCompany.computeIfAbsent(job.getCompany().getId(), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // 2. Giữ chỗ quota cho cả lô của mỗi công ty
+        List<Integer> accepted = new ArrayList<>();
+        for (Map.Entry<Long, List<Integer>> entry : validByCompany.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            int reserved = this.employerSubscriptionService.reserveJobPostingQuota(
+                    currentUser.getId(), entry.getKey(), indexes.size());
+            for (int k = 0; k < indexes.size(); k++) {
+                int i = indexes.get(k);
+                if (k < reserved) {
+                    accepted.add(i);
+                } else {
+                    results[i] = failure(i, jobs.get(i),
+                            "Không đủ lượt đăng tin. Vui lòng mua thêm gói VIP.");
+                }
+            }
+        }
+        accepted.sort(null);
+
+        // 3. Insert bằng JDBC batch
+        long[] generatedIds = insertJobs(jobs, accepted, currentUser.getEmail());
+        insertJobSkills(jobs, accepted, generatedIds, skillIds);
+        insertJobLocationCodes(jobs, accepted, generatedIds);
+        insertJobSearchNames(jobs, accepted, generatedIds);
+        for (int k = 0; k < accepted.size(); k++) {
+            int i = accepted.get(k);
+            results[i] = new ResBulkJobDTO.ItemResult(i, true, generatedIds[k], jobs.get(i).getName(),
+                    "Tạo công việc thành công");
+        }
+
+        for (ResBulkJobDTO.ItemResult result : results) {
+            res.getResults().add(result);
+            if (result.isSuccess()) {
+                res.setCreated(res.getCreated() + 1);
+            } else {
+                res.setFailed(res.getFailed() + 1);
+            }
+        }
+        return res;
+    }
+
+    private String validate(Job job, Set<Long> companyIds, Set<Long> skillIds) {
+        if (job == null) {
+            return "Dữ liệu công việc trống";
+        }
+        Set<ConstraintViolation<Job>> violations = this.validator.validate(job);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (job.getCompany() == null || job.getCompany().getId() == null
+                || !companyIds.contains(job.getCompany().getId())) {
+            return "Công ty không tồn tại";
+        }
+        if (job.getSkills() != null) {
+            for (Skill skill : job.getSkills()) {
+                if (skill == null || !skillIds.contains(skill.getId())) {
+                    return "Kỹ năng không tồn tại";
+                }
+            }
+        }
+        return null;
+    }
+
+    private long[] insertJobs(List<Job> jobs, List<Integer> accepted, String createdBy) {
+        if (accepted.isEmpty()) {
+            return new long[0];
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        return this.jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_JOB, Statement.RETURN_GENERATED_KEYS)) {
+                for (int i : accepted) {
+                    bindJob(ps, jobs.get(i), now, createdBy);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                return readGeneratedKeys(ps, accepted.size());
+            }
+        });
+    }
+
+    private static void bindJob(PreparedStatement ps, Job job, Timestamp now, String createdBy)
+            throws SQLException {
+        ps.setString(1, job.getName());
+        ps.setString(2, job.getLocation());
+        ps.setDouble(3, job.getSalary());
+        ps.setInt(4, job.getQuantity());
+        if (job.getLevel() != null) {
+            ps.setString(5, job.getLevel().name());
+        } else {
+            ps.setNull(5, Types.VARCHAR);
+        }
+        ps.setString(6, job.getDescription());
+        ps.setTimestamp(7, job.getStartDate() != null ? Timestamp.from(job.getStartDate()) : null);
+        ps.setTimestamp(8, job.getEndDate() != null ? Timestamp.from(job.getEndDate()) : null);
+        ps.setBoolean(9, job.isActive());
+        ps.setLong(10, job.getCompany().getId());
+        ps.setTimestamp(11, now);
+        ps.setString(12, createdBy);
+    }
+
+    private static long[] readGeneratedKeys(PreparedStatement ps, int expected) throws SQLException {
+        long[] ids = new long[expected];
+        int n = 0;
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            while (keys.next() && n < expected) {
+                ids[n++] = keys.getLong(1);
+            }
+        }
+        if (n != expected) {
+            throw new IllegalStateException("Không đọc được id của các job vừa tạo");
+        }
+        return ids;
+    }
+
+    private void insertJobSkills(List<Job> jobs, List<Integer> accepted, long[] jobIds, Set<Long> skillIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int k = 0; k < accepted.size(); k++) {
+            Job job = jobs.get(accepted.get(k));
+            if (job.getSkills() == null) {
+                continue;
+            }
+            Set<Long> seen = new HashSet<>();
+            for (Skill skill : job.getSkills()) {
+                if (seen.add(skill.getId())) {
+                    rows.add(new Object[] { jobIds[k], skill.getId() });
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT_JOB_SKILL, rows);
+        }
+    }
+
+    // Cùng transaction với câu INSERT jobs, như JobLocationCodeService làm khi job được tạo / sửa
+    private void insertJobLocationCodes(List<Job> jobs, List<Integer> accepted, long[] jobIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int k = 0; k < accepted.size(); k++) {
+            for (String code : JobLocationCodes.resolveAll(jobs.get(accepted.get(k)).getLocation())) {
+                rows.add(new Object[] { jobIds[k], code });
+            }
+        }
+        if (!rows.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT_JOB_LOCATION_CODE, rows);
+        }
+    }
+
+    private void insertJobSearchNames(List<Job> jobs, List<Integer> accepted, long[] jobIds) {
+        List<Object[]> rows = new ArrayList<>(accepted.size());
+        for (int k = 0; k < accepted.size(); k++) {
+            rows.add(new Object[] { jobIds[k], VietnameseTextFolder.fold(jobs.get(accepted.get(k)).getName()) });
+        }
+        if (!rows.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT_JOB_SEARCH_NAME, rows);
+        }
+    }
+
+    private Set<Long> existingIds(String entity, Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        return new HashSet<>(this.entityManager
+                .createQuery("select e.id from " + entity + " e where e.id in :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+    }
+
+    private static Set<Long> collectCompanyIds(List<Job> jobs) {
+        Set<Long> ids = new HashSet<>();
+        for (Job job : jobs) {
+            if (job != null && job.getCompany() != null && job.getCompany().getId() != null) {
+                ids.add(job.getCompany().getId());
+            }
+        }
+        return ids;
+    }
+
+    private static Set<Long> collectSkillIds(List<Job> jobs) {
+        Set<Long> ids = new HashSet<>();
+        for (Job job : jobs) {
+            if (job != null && job.getSkills() != null) {
+                for (Skill skill : job.getSkills()) {
+                    if (skill != null) {
+                        ids.add(skill.getId());
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static ResBulkJobDTO.ItemResult failure(int index, Job job, String message) {
+        return new ResBulkJobDTO.ItemResult(index, false, null, job == null ? null : job.getName(), message);
+    }
+}
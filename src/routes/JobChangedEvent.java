@@ -0,0 +1,77 @@
+package vn.hstore.jobhunter.service.event;
+
+import java.util.Set;
+
+import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.util.JobLocationCodes;
+import vn.hstore.jobhunter.util.constant.LevelEnum;
+
+/**
+ * Phát ra sau khi một job được tạo, cập nhật hoặc xóa thành công,
+ * để các chỉ mục / bộ đệm trong bộ nhớ tự cập nhật.
+ */
+public class JobChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final long jobId;
+    // Trạng thái trước khi cập nhật / xóa (null nếu không biết)
+    private final JobState previous;
+
+    public JobChangedEvent(Type type, long jobId) {
+        this(type, jobId, null);
+    }
+
+    public JobChangedEvent(Type type, long jobId, JobState previous) {
+        this.type = type;
+        this.jobId = jobId;
+        this.previous = previous;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getJobId() {
+        return jobId;
+    }
+
+    public JobState getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Các trường dùng cho bộ đếm thống kê, chụp lại trước khi entity bị thay đổi
+     */
+    public static class JobState {
+        private final LevelEnum level;
+        // Mọi mã tỉnh thành của job (rỗng nếu job không có địa điểm)
+        private final Set<String> locationCodes;
+        private final boolean active;
+
+        public JobState(LevelEnum level, Set<String> locationCodes, boolean active) {
+            this.level = level;
+            this.locationCodes = locationCodes;
+            this.active = active;
+        }
+
+        public static JobState of(Job job) {
+            return new JobState(job.getLevel(), JobLocationCodes.resolveAll(job.getLocation()), job.isActive());
+        }
+
+        public LevelEnum getLevel() {
+            return level;
+        }
+
+        public Set<String> getLocationCodes() {
+            return locationCodes;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+    }
+}
@@ -6,8 +6,11 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.HashMap;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,19 +19,40 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import com.turkraft.springfilter.boot.Filter;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import vn.hstore.jobhunter.domain.Job;
 import vn.hstore.jobhunter.domain.response.RestResponse;
 import vn.hstore.jobhunter.domain.response.ResultPaginationDTO;
+import vn.hstore.jobhunter.domain.response.job.ResBulkJobDTO;
 import vn.hstore.jobhunter.domain.response.job.ResCreateJobDTO;
+import vn.hstore.jobhunter.domain.response.job.ResJobDetailDTO;
+import vn.hstore.jobhunter.domain.response.job.ResJobFacetsDTO;
+import vn.hstore.jobhunter.domain.response.job.ResPopularJobDTO;
 import vn.hstore.jobhunter.domain.response.job.ResUpdateJobDTO;
+import vn.hstore.jobhunter.service.JobBulkImportService;
+import vn.hstore.jobhunter.service.JobDetailService;
+import vn.hstore.jobhunter.service.JobExportService;
+import vn.hstore.jobhunter.service.JobFacetService;
+import vn.hstore.jobhunter.service.JobListingCache;
+import vn.hstore.jobhunter.service.JobQueryService;
+import vn.hstore.jobhunter.service.JobSearchIndex;
 import vn.hstore.jobhunter.service.JobService;
+import vn.hstore.jobhunter.service.JobStatisticsCounter;
+import vn.hstore.jobhunter.service.JobViewCounter;
+import vn.hstore.jobhunter.service.PaginationCountCache;
+import vn.hstore.jobhunter.service.ReferenceResponseCache;
+import vn.hstore.jobhunter.service.event.JobChangedEvent;
+import vn.hstore.jobhunter.service.event.JobsImportedEvent;
+import vn.hstore.jobhunter.util.JobSpecification;
 import vn.hstore.jobhunter.util.annotation.ApiMessage;
 import vn.hstore.jobhunter.util.constant.LevelEnum;
 import vn.hstore.jobhunter.util.error.IdInvalidException;
@@ -40,17 +64,47 @@ import vn.hstore.jobhunter.util.constant.LocationEnum;
 public class JobController {
 
     private final JobService jobService;
+    private final JobSearchIndex jobSearchIndex;
+    private final JobQueryService jobQueryService;
+    private final JobListingCache jobListingCache;
+    private final PaginationCountCache paginationCountCache;
+    private final JobExportService jobExportService;
+    private final JobFacetService jobFacetService;
+    private final JobDetailService jobDetailService;
+    private final JobStatisticsCounter jobStatisticsCounter;
+    private final ReferenceResponseCache referenceResponseCache;
+    private final JobBulkImportService jobBulkImportService;
+    private final JobViewCounter jobViewCounter;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public JobController(JobService jobService) {
+    public JobController(JobService jobService, JobSearchIndex jobSearchIndex,
+            JobQueryService jobQueryService, JobListingCache jobListingCache,
+            PaginationCountCache paginationCountCache, JobExportService jobExportService,
+            JobFacetService jobFacetService, JobDetailService jobDetailService,
+            JobStatisticsCounter jobStatisticsCounter, ReferenceResponseCache referenceResponseCache,
+            JobBulkImportService jobBulkImportService, JobViewCounter jobViewCounter,
+            ApplicationEventPublisher eventPublisher) {
         this.jobService = jobService;
+        this.jobSearchIndex = jobSearchIndex;
+        this.jobQueryService = jobQueryService;
+        this.jobListingCache = jobListingCache;
+        this.paginationCountCache = paginationCountCache;
+        this.jobExportService = jobExportService;
+        this.jobFacetService = jobFacetService;
+        this.jobDetailService = jobDetailService;
+        this.jobStatisticsCounter = jobStatisticsCounter;
+        this.referenceResponseCache = referenceResponseCache;
+        this.jobBulkImportService = jobBulkImportService;
+        this.jobViewCounter = jobViewCounter;
+        this.eventPublisher = eventPublisher;
     }
 
     @PostMapping("/jobs")
     @ApiMessage("Create a job")
     public ResponseEntity<?> create(@Valid @RequestBody Job job) {
+        ResCreateJobDTO createdJob;
         try {
-            ResCreateJobDTO createdJob = this.jobService.create(job);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdJob);
+            createdJob = this.jobService.create(job);
         } catch (QuotaExceededException e) {
             // Return specific error for quota exceeded
             RestResponse<Object> errorResponse = new RestResponse<>();
@@ -70,6 +124,49 @@ public class JobController {
 
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
+
+        // Ngoài try: job đã được lưu, listener lỗi chỉ được ghi log (JobEventConfig)
+        this.eventPublisher.publishEvent(new JobChangedEvent(JobChangedEvent.Type.CREATED, createdJob.getId()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdJob);
+    }
+
+    @PostMapping("/jobs/bulk")
+    @ApiMessage("Create jobs in bulk")
+    public ResponseEntity<?> createBulk(@RequestBody List<Job> jobs) {
+        if (jobs == null || jobs.isEmpty() || jobs.size() > this.jobBulkImportService.getMaxBatchSize()) {
+            RestResponse<Object> errorResponse = new RestResponse<>();
+            errorResponse.setStatusCode(400);
+            errorResponse.setError("Bad Request");
+            errorResponse.setMessage("Số lượng công việc phải từ 1 đến " + this.jobBulkImportService.getMaxBatchSize());
+            errorResponse.setData(null);
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+
+        ResBulkJobDTO result;
+        try {
+            result = this.jobBulkImportService.importJobs(jobs);
+        } catch (Exception e) {
+            RestResponse<Object> errorResponse = new RestResponse<>();
+            errorResponse.setStatusCode(500);
+            errorResponse.setError("Internal Server Error");
+            errorResponse.setMessage(e.getMessage());
+            errorResponse.setData(null);
+
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+
+        List<Long> createdIds = new ArrayList<>();
+        for (ResBulkJobDTO.ItemResult item : result.getResults()) {
+            if (item.isSuccess()) {
+                createdIds.add(item.getId());
+            }
+        }
+        // Một event cho cả lô: bộ đệm chỉ bị xóa một lần, chỉ mục nạp job mới trong một câu truy vấn
+        if (!createdIds.isEmpty()) {
+            this.eventPublisher.publishEvent(new JobsImportedEvent(createdIds));
+        }
+        return ResponseEntity.ok().body(result);
     }
 
     @PutMapping("/jobs")
@@ -80,8 +177,12 @@ public class JobController {
             throw new IdInvalidException("Job not found");
         }
 
+        JobChangedEvent.JobState previous = JobChangedEvent.JobState.of(currentJob.get());
+        ResUpdateJobDTO updatedJob = this.jobService.update(job, currentJob.get());
+        this.eventPublisher.publishEvent(new JobChangedEvent(JobChangedEvent.Type.UPDATED, job.getId(), previous));
+
         return ResponseEntity.ok()
-                .body(this.jobService.update(job, currentJob.get()));
+                .body(updatedJob);
     }
 
     // @DeleteMapping("/jobs/{id}")
@@ -102,7 +203,9 @@ public class JobController {
             throw new IdInvalidException("Job not found");
         }
 
+        JobChangedEvent.JobState previous = JobChangedEvent.JobState.of(currentJob.get());
         this.jobService.delete(id);
+        this.eventPublisher.publishEvent(new JobChangedEvent(JobChangedEvent.Type.DELETED, id, previous));
 
         // Trả về thông báo thành công rõ ràng
         return ResponseEntity.ok().body(Map.of("message", "Xóa công việc thành công"));
@@ -110,33 +213,136 @@ public class JobController {
 
     @GetMapping("/jobs/{id}")
     @ApiMessage("Get a job by id")
-    public ResponseEntity<Job> getJob(@PathVariable("id") long id) throws IdInvalidException {
-        Optional<Job> currentJob = this.jobService.fetchJobById(id);
+    public ResponseEntity<ResJobDetailDTO> getJob(@PathVariable("id") long id) throws IdInvalidException {
+        Optional<ResJobDetailDTO> currentJob = this.jobDetailService.fetchJobDetail(id);
         if (!currentJob.isPresent()) {
             throw new IdInvalidException("Job not found");
         }
+        this.jobViewCounter.recordView(id);
 
         return ResponseEntity.ok().body(currentJob.get());
     }
 
     @GetMapping("/jobs")
     @ApiMessage("Get job with pagination")
-    public ResponseEntity<ResultPaginationDTO> getAllJob(
+    public ResponseEntity<?> getAllJob(
             @Filter Specification<Job> spec,
             Pageable pageable,
             @RequestParam(required = false, name = "level") LevelEnum level,
             @RequestParam(required = false, name = "minSalary") Double minSalary,
             @RequestParam(required = false, name = "maxSalary") Double maxSalary,
-            @RequestParam(required = false, name = "location") String location) {
+            @RequestParam(required = false, name = "location") String location,
+            @RequestParam(required = false, name = "filter") String filter,
+            @RequestParam(required = false, name = "keyword") String keyword,
+            @RequestParam(required = false, name = "cursor") String cursor,
+            @RequestParam(defaultValue = "false", name = "withTotal") boolean withTotal) throws IdInvalidException {
+
+        // Chế độ cursor: gửi cursor= (rỗng) cho trang đầu, sau đó gửi lại meta.nextCursor
+        if (cursor != null) {
+            return ResponseEntity.ok().body(this.jobQueryService.fetchAllByCursor(
+                    spec, filter, pageable, level, minSalary, maxSalary, location, cursor, withTotal));
+        }
+
+        // Chỉ mục đang nạp: database khớp keyword theo tên job và trả thứ tự khác chỉ mục, nên kết quả
+        // tạm thời này không được cache dưới key mà chỉ mục sẽ trả lời khi nạp xong
+        if (this.jobSearchIndex.willServe(spec, pageable) && !this.jobSearchIndex.isReady()) {
+            return ResponseEntity.ok().body(this.jobService.fetchAll(JobSpecification.hasNameLike(keyword),
+                    pageable, level, minSalary, maxSalary, location));
+        }
+
+        String cacheKey = JobListingCache.key(filter, level, minSalary, maxSalary, location, keyword, pageable);
+        return ResponseEntity.ok().body(this.jobListingCache.getOrLoad(cacheKey, () -> {
+            // Trả lời từ chỉ mục trong bộ nhớ nếu được bật và truy vấn nằm trong phạm vi chỉ mục hỗ trợ
+            if (this.jobSearchIndex.canServe(spec, pageable)) {
+                return this.jobSearchIndex.fetchAll(pageable, level, minSalary, maxSalary, location, keyword);
+            }
+            // keyword nằm trong key cache nên database cũng phải lọc theo keyword (theo tên job)
+            return this.jobService.fetchAll(JobSpecification.hasNameLike(keyword).and(spec),
+                    pageable, level, minSalary, maxSalary, location);
+        }));
+    }
+
+    @GetMapping("/jobs/popular")
+    @ApiMessage("Get most viewed jobs")
+    public ResponseEntity<List<ResPopularJobDTO>> getPopularJobs(
+            @RequestParam(defaultValue = "10", name = "limit") int limit) {
+        return ResponseEntity.ok(this.jobViewCounter.getMostViewed(Math.min(Math.max(limit, 1), 100)));
+    }
+
+    @GetMapping("/jobs/search")
+    @ApiMessage("Search jobs by keyword")
+    public ResponseEntity<ResultPaginationDTO> searchJobs(
+            @RequestParam(name = "q") String query,
+            @RequestParam(required = false, name = "level") LevelEnum level,
+            @RequestParam(required = false, name = "location") String location,
+            Pageable pageable) {
+
+        // Tìm không phân biệt dấu, xếp hạng theo độ liên quan; trong lúc chỉ mục đang nạp thì lọc bằng DB
+        if (this.jobSearchIndex.isReady()) {
+            return ResponseEntity.ok(this.jobSearchIndex.searchRanked(query, level, location, pageable));
+        }
+        return ResponseEntity.ok(this.jobService.fetchAll(
+                JobSpecification.hasNameLike(query), pageable, level, null, null, location));
+    }
+
+    @GetMapping("/jobs/facets")
+    @ApiMessage("Get job counts by level, location and salary band")
+    public ResponseEntity<ResJobFacetsDTO> getJobFacets(
+            @Filter Specification<Job> spec,
+            @RequestParam(required = false, name = "filter") String filter,
+            @RequestParam(required = false, name = "level") LevelEnum level,
+            @RequestParam(required = false, name = "minSalary") Double minSalary,
+            @RequestParam(required = false, name = "maxSalary") Double maxSalary,
+            @RequestParam(required = false, name = "location") String location,
+            @RequestParam(required = false, name = "keyword") String keyword) {
+
+        return ResponseEntity.ok(this.jobFacetService.getFacets(
+                spec, filter, level, minSalary, maxSalary, location, keyword));
+    }
+
+    @GetMapping("/jobs/export")
+    @ApiMessage("Export jobs as NDJSON")
+    public WebAsyncTask<Void> exportJobs(
+            @Filter Specification<Job> spec,
+            @RequestParam(required = false, name = "level") LevelEnum level,
+            @RequestParam(required = false, name = "minSalary") Double minSalary,
+            @RequestParam(required = false, name = "maxSalary") Double maxSalary,
+            @RequestParam(required = false, name = "location") String location,
+            HttpServletResponse response) {
+
+        Specification<Job> exportSpec = this.jobQueryService.buildSpecification(
+                spec, level, minSalary, maxSalary, location);
 
-        return ResponseEntity.ok().body(this.jobService.fetchAll(spec, pageable, level, minSalary, maxSalary, location));
+        response.setContentType("application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"jobs.ndjson\"");
+
+        // Ghi thẳng ra response trên luồng async, với timeout riêng thay cho timeout async mặc định (30s)
+        return new WebAsyncTask<>(this.jobExportService.getTimeoutMs(), () -> {
+            this.jobExportService.export(exportSpec, response.getOutputStream());
+            return null;
+        });
+    }
+
+    @GetMapping("/jobs/cache/stats")
+    @ApiMessage("Get job cache statistics")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("listing", this.jobListingCache.stats());
+        stats.put("count", this.paginationCountCache.stats());
+        stats.put("detail", this.jobDetailService.stats());
+        return ResponseEntity.ok(stats);
     }
 
     @GetMapping("/jobs/statistics")
     @ApiMessage("Get job statistics")
     public ResponseEntity<?> getJobStatistics() {
         try {
-            Map<String, Object> statistics = this.jobService.getJobStatistics();
+            // Đọc từ bộ đếm trong bộ nhớ; trước lần đối chiếu đầu tiên thì đối chiếu ngay, để cả hai
+            // trường hợp trả về cùng một dạng dữ liệu
+            if (!this.jobStatisticsCounter.isReady()) {
+                this.jobStatisticsCounter.reconcile();
+            }
+            Map<String, Object> statistics = this.jobStatisticsCounter.snapshot();
 
             RestResponse<Map<String, Object>> response = new RestResponse<>();
             response.setStatusCode(200);
@@ -160,7 +366,10 @@ public class JobController {
     @ApiMessage("Get total number of jobs")
     public ResponseEntity<?> getTotalJobCount() {
         try {
-            long totalJobs = this.jobService.getTotalJobCount();
+            // Đọc bộ đếm trong bộ nhớ (được đối chiếu định kỳ); trước lần đối chiếu đầu tiên thì hỏi database
+            long totalJobs = this.jobStatisticsCounter.isReady()
+                    ? this.jobStatisticsCounter.getTotal()
+                    : this.jobService.getTotalJobCount();
 
             RestResponse<Long> response = new RestResponse<>();
             response.setStatusCode(200);
@@ -182,7 +391,19 @@ public class JobController {
 
     @GetMapping("/jobs/locations")
     @ApiMessage("Get list of available locations")
-    public ResponseEntity<List<Map<String, String>>> getLocations() {
+    public ResponseEntity<Resource> getLocations(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return this.referenceResponseCache.respond(ReferenceResponseCache.LOCATIONS, ifNoneMatch, () -> {
+            RestResponse<List<Map<String, String>>> response = new RestResponse<>();
+            response.setStatusCode(200);
+            response.setError(null);
+            response.setMessage("Get list of available locations");
+            response.setData(buildLocations());
+            return response;
+        });
+    }
+
+    private static List<Map<String, String>> buildLocations() {
         List<Map<String, String>> locations = new ArrayList<>();
         
         // Thêm các thành phố lớn
@@ -211,6 +432,6 @@ public class JobController {
             locations.add(locationMap);
         }
         
-        return ResponseEntity.ok(locations);
+        return locations;
     }
 }
@@ -0,0 +1,105 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import vn.hstore.jobhunter.domain.Company;
+import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.domain.Skill;
+import vn.hstore.jobhunter.domain.response.job.ResJobDetailDTO;
+import vn.hstore.jobhunter.service.event.JobChangedEvent;
+import vn.hstore.jobhunter.util.BoundedTtlCache;
+
+/**
+ * Đọc chi tiết một job cho GET /api/v1/jobs/{id}: company và skills được
+ * fetch join trong cùng một câu truy vấn, trả về DTO phẳng thay vì entity.
+ * Kết quả được cache theo id (giới hạn số phần tử + TTL) và bị xóa khi job
+ * được cập nhật / xóa.
+ */
+@Service
+public class JobDetailService {
+
+    private static final String DETAIL_QUERY = "select distinct j from Job j "
+            + "left join fetch j.company "
+            + "left join fetch j.skills "
+            + "where j.id = :id";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final BoundedTtlCache<Long, ResJobDetailDTO> cache;
+
+    public JobDetailService(EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${jobhunter.jobs.detail-cache.max-size:2000}") int maxSize,
+            @Value("${jobhunter.jobs.detail-cache.ttl-ms:300000}") long ttlMillis) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.cache = new BoundedTtlCache<>(maxSize, ttlMillis);
+    }
+
+    /**
+     * Cache hit không mở transaction; chỉ khi phải đọc database mới mở transaction read-only
+     */
+    public Optional<ResJobDetailDTO> fetchJobDetail(long id) {
+        return Optional.ofNullable(this.cache.getOrLoad(id, this::loadJobDetail));
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        this.cache.remove(event.getJobId());
+    }
+
+    public Map<String, Object> stats() {
+        return this.cache.stats();
+    }
+
+    private ResJobDetailDTO loadJobDetail(long id) {
+        return this.transactionTemplate.execute(status -> {
+            List<Job> jobs = this.entityManager.createQuery(DETAIL_QUERY, Job.class)
+                    .setParameter("id", id)
+                    .getResultList();
+            return jobs.isEmpty() ? null : convertToResJobDetailDTO(jobs.get(0));
+        });
+    }
+
+    public ResJobDetailDTO convertToResJobDetailDTO(Job job) {
+        ResJobDetailDTO res = new ResJobDetailDTO();
+        res.setId(job.getId());
+        res.setName(job.getName());
+        res.setLocation(job.getLocation());
+        res.setSalary(job.getSalary());
+        res.setQuantity(job.getQuantity());
+        res.setLevel(job.getLevel());
+        res.setDescription(job.getDescription());
+        res.setStartDate(job.getStartDate());
+        res.setEndDate(job.getEndDate());
+        res.setActive(job.isActive());
+        res.setCreatedAt(job.getCreatedAt());
+        res.setUpdatedAt(job.getUpdatedAt());
+
+        Company company = job.getCompany();
+        if (company != null) {
+            res.setCompany(new ResJobDetailDTO.CompanyJob(
+                    company.getId(), company.getName(), company.getLogo(), company.getAddress()));
+        }
+
+        List<ResJobDetailDTO.SkillJob> skills = new ArrayList<>();
+        if (job.getSkills() != null) {
+            for (Skill skill : job.getSkills()) {
+                skills.add(new ResJobDetailDTO.SkillJob(skill.getId(), skill.getName()));
+            }
+        }
+        res.setSkills(skills);
+        return res;
+    }
+}
@@ -0,0 +1,50 @@
+package vn.hstore.jobhunter.config;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
+
+import vn.hstore.jobhunter.service.event.JobChangedEvent;
+import vn.hstore.jobhunter.service.event.JobsImportedEvent;
+
+/**
+ * Listener của JobChangedEvent / JobsImportedEvent chạy đồng bộ sau khi job đã được lưu. Một
+ * listener lỗi chỉ được ghi log: request vẫn trả kết quả của job đã lưu và các listener còn lại
+ * (xóa cache, cập nhật chỉ mục, bộ đếm) vẫn chạy; lần đối chiếu định kỳ sửa lại phần bị lỡ.
+ * Các event khác giữ hành vi mặc định (lỗi được ném lại cho người publish).
+ */
+@Configuration
+public class JobEventConfig {
+
+    @Bean(name = AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
+    public ApplicationEventMulticaster applicationEventMulticaster(BeanFactory beanFactory) {
+        return new SimpleApplicationEventMulticaster(beanFactory) {
+            @Override
+            protected void invokeListener(ApplicationListener<?> listener, ApplicationEvent event) {
+                if (!isJobEvent(event)) {
+                    super.invokeListener(listener, event);
+                    return;
+                }
+                try {
+                    super.invokeListener(listener, event);
+                } catch (RuntimeException e) {
+                    System.out.println(">>> JOB EVENT LISTENER FAILED: " + listener + ": " + e.getMessage());
+                }
+            }
+        };
+    }
+
+    private static boolean isJobEvent(ApplicationEvent event) {
+        if (!(event instanceof PayloadApplicationEvent<?> payloadEvent)) {
+            return false;
+        }
+        Object payload = payloadEvent.getPayload();
+        return payload instanceof JobChangedEvent || payload instanceof JobsImportedEvent;
+    }
+}
@@ -0,0 +1,166 @@
+package vn.hstore.jobhunter.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import vn.hstore.jobhunter.domain.Job;
+
+/**
+ * Xuất toàn bộ danh sách job dạng NDJSON (mỗi dòng một JSON), đọc bằng cursor
+ * chỉ-tiến với fetch size cố định và ghi thẳng ra response.
+ * Bộ nhớ chỉ giữ một lô (fetch size) job tại một thời điểm.
+ *
+ * Với MySQL cần useCursorFetch=true trên JDBC URL để fetch size có hiệu lực (không có thì driver
+ * đọc hết kết quả vào bộ nhớ); thiếu thì dừng khởi động thay vì hết heap khi có người xuất.
+ */
+@Service
+public class JobExportService {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final long timeoutMs;
+
+    public JobExportService(EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${jobhunter.jobs.export.fetch-size:500}") int fetchSize,
+            @Value("${jobhunter.jobs.export.timeout-ms:600000}") long timeoutMs,
+            @Value("${spring.datasource.url:}") String datasourceUrl) {
+        if (datasourceUrl.startsWith("jdbc:mysql:") && !datasourceUrl.contains("useCursorFetch=true")) {
+            throw new IllegalStateException("spring.datasource.url phải có useCursorFetch=true để xuất job"
+                    + " theo cursor (jobhunter.jobs.export.fetch-size)");
+        }
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Thời gian tối đa cho một lần xuất; timeout mặc định của request async (30s) quá ngắn
+     */
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void export(Specification<Job> spec, OutputStream out) {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+            CriteriaQuery<Job> query = cb.createQuery(Job.class);
+            Root<Job> root = query.from(Job.class);
+            root.fetch("company", JoinType.LEFT);
+            if (spec != null) {
+                Predicate predicate = spec.toPredicate(root, query, cb);
+                if (predicate != null) {
+                    query.where(predicate);
+                }
+            }
+            query.orderBy(cb.asc(root.get("id")));
+
+            try (Stream<Job> stream = this.entityManager.createQuery(query)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, this.fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream();
+                    JsonGenerator generator = this.objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+                List<Job> batch = new ArrayList<>(this.fetchSize);
+                Iterator<Job> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() == this.fetchSize) {
+                        writeBatch(batch, generator);
+                    }
+                }
+                writeBatch(batch, generator);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeBatch(List<Job> batch, JsonGenerator generator) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Long, List<String>> skills = fetchSkillNames(batch);
+        for (Job job : batch) {
+            this.objectMapper.writeValue(generator, toRow(job, skills.getOrDefault(job.getId(), List.of())));
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+
+        // Giải phóng các entity đã ghi khỏi persistence context
+        batch.clear();
+        this.entityManager.clear();
+    }
+
+    /**
+     * Một truy vấn cho kỹ năng của cả lô, tránh N+1 trên quan hệ lazy
+     */
+    private Map<Long, List<String>> fetchSkillNames(List<Job> batch) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Job job : batch) {
+            ids.add(job.getId());
+        }
+        List<Object[]> rows = this.entityManager.createQuery(
+                "select j.id, s.name from Job j join j.skills s where j.id in :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        Map<Long, List<String>> skills = new HashMap<>();
+        for (Object[] row : rows) {
+            skills.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+        return skills;
+    }
+
+    private static Map<String, Object> toRow(Job job, List<String> skills) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", job.getId());
+        row.put("name", job.getName());
+        row.put("location", job.getLocation());
+        row.put("salary", job.getSalary());
+        row.put("quantity", job.getQuantity());
+        row.put("level", job.getLevel());
+        row.put("startDate", job.getStartDate());
+        row.put("endDate", job.getEndDate());
+        row.put("active", job.isActive());
+        if (job.getCompany() != null) {
+            Map<String, Object> company = new LinkedHashMap<>();
+            company.put("id", job.getCompany().getId());
+            company.put("name", job.getCompany().getName());
+            row.put("company", company);
+        }
+        row.put("skills", skills);
+        return row;
+    }
+}
@@ -0,0 +1,142 @@
+package vn.hstore.jobhunter.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.domain.JobLocationCode;
+import vn.hstore.jobhunter.domain.response.job.ResJobFacetsDTO;
+import vn.hstore.jobhunter.service.event.JobChangedEvent;
+import vn.hstore.jobhunter.service.event.JobsImportedEvent;
+import vn.hstore.jobhunter.util.BoundedTtlCache;
+import vn.hstore.jobhunter.util.JobLocationCodes;
+import vn.hstore.jobhunter.util.JobSpecification;
+import vn.hstore.jobhunter.util.constant.LevelEnum;
+import vn.hstore.jobhunter.util.constant.SalaryBandEnum;
+
+/**
+ * Số lượng job theo level / địa điểm / khoảng lương cho sidebar trang tìm việc.
+ * Tính từ chỉ mục trong bộ nhớ nếu có, nếu không thì GROUP BY trên jobs và job_location_codes.
+ * Kết quả được giữ vài giây.
+ */
+@Service
+public class JobFacetService {
+
+    public static final String OTHERS = "Others";
+    // Job chưa nhập lương: đếm riêng thay vì rơi vào OVER_50M
+    public static final String SALARY_NOT_SPECIFIED = "NOT_SPECIFIED";
+
+    private final EntityManager entityManager;
+    private final JobSearchIndex jobSearchIndex;
+    private final JobQueryService jobQueryService;
+    private final BoundedTtlCache<String, ResJobFacetsDTO> cache;
+
+    public JobFacetService(EntityManager entityManager,
+            JobSearchIndex jobSearchIndex,
+            JobQueryService jobQueryService,
+            @Value("${jobhunter.jobs.facets-cache.max-size:200}") int maxSize,
+            @Value("${jobhunter.jobs.facets-cache.ttl-ms:5000}") long ttlMillis) {
+        this.entityManager = entityManager;
+        this.jobSearchIndex = jobSearchIndex;
+        this.jobQueryService = jobQueryService;
+        this.cache = new BoundedTtlCache<>(maxSize, ttlMillis);
+    }
+
+    public ResJobFacetsDTO getFacets(Specification<Job> spec, String filter, LevelEnum level,
+            Double minSalary, Double maxSalary, String location, String keyword) {
+        String key = PaginationCountCache.fingerprint(filter, level, minSalary, maxSalary, location, keyword);
+        return this.cache.getOrLoad(key, k -> {
+            return spec == null && this.jobSearchIndex.isReady()
+                    ? this.jobSearchIndex.facets(level, minSalary, maxSalary, location, keyword)
+                    : aggregate(this.jobQueryService.buildSpecification(spec, level, minSalary, maxSalary, location)
+                            .and(JobSpecification.hasNameLike(keyword)));
+        });
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        this.cache.clear();
+    }
+
+    @EventListener
+    public void onJobsImported(JobsImportedEvent event) {
+        this.cache.clear();
+    }
+
+    @Transactional(readOnly = true)
+    public ResJobFacetsDTO aggregate(Specification<Job> spec) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> root = query.from(Job.class);
+
+        Path<LevelEnum> level = root.get("level");
+        Path<Double> salary = root.get("salary");
+
+        CriteriaBuilder.Case<String> bandCase = cb.<String>selectCase()
+                .when(cb.isNull(salary), SALARY_NOT_SPECIFIED);
+        for (SalaryBandEnum band : SalaryBandEnum.values()) {
+            if (band != SalaryBandEnum.OVER_50M) {
+                bandCase = bandCase.when(cb.lessThan(salary, band.getMax()), band.name());
+            }
+        }
+        Expression<String> salaryBand = bandCase.otherwise(SalaryBandEnum.OVER_50M.name());
+
+        where(query, root, cb, spec);
+        query.multiselect(level, salaryBand, cb.count(root))
+                .groupBy(level, salaryBand);
+
+        ResJobFacetsDTO facets = new ResJobFacetsDTO();
+        for (Tuple row : this.entityManager.createQuery(query).getResultList()) {
+            LevelEnum rowLevel = row.get(0, LevelEnum.class);
+            facets.add(
+                    rowLevel == null ? null : rowLevel.name(),
+                    row.get(1, String.class),
+                    row.get(2, Long.class));
+        }
+
+        // Theo mã tỉnh thành: job ở nhiều tỉnh được đếm ở từng tỉnh, giống bộ lọc location
+        CriteriaQuery<Tuple> byCode = cb.createTupleQuery();
+        Root<Job> codedJob = byCode.from(Job.class);
+        Root<JobLocationCode> code = byCode.from(JobLocationCode.class);
+        Path<String> locationCode = code.get("locationCode");
+        // Mã OTHERS (địa điểm không phải tỉnh thành nào) đã nằm trong "Others" bên dưới
+        Predicate joined = cb.and(
+                cb.equal(code.get("jobId"), codedJob.get("id")),
+                cb.notEqual(locationCode, JobLocationCodes.OTHERS));
+        Predicate predicate = spec == null ? null : spec.toPredicate(codedJob, byCode, cb);
+        byCode.where(predicate == null ? joined : cb.and(joined, predicate));
+        byCode.multiselect(locationCode, cb.count(codedJob)).groupBy(locationCode);
+        for (Tuple row : this.entityManager.createQuery(byCode).getResultList()) {
+            facets.addLocation(row.get(0, String.class), row.get(1, Long.class));
+        }
+
+        // "Others" đếm theo job bằng đúng điều kiện của bộ lọc location=Others
+        CriteriaQuery<Long> others = cb.createQuery(Long.class);
+        Root<Job> othersRoot = others.from(Job.class);
+        Specification<Job> othersSpec = JobSpecification.hasLocation(OTHERS);
+        where(others, othersRoot, cb, spec == null ? othersSpec : spec.and(othersSpec));
+        others.select(cb.count(othersRoot));
+        facets.addLocation(OTHERS, this.entityManager.createQuery(others).getSingleResult());
+        return facets;
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Job> root, CriteriaBuilder cb, Specification<Job> spec) {
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.domain.response.ResultPaginationDTO;
+import vn.hstore.jobhunter.service.event.JobChangedEvent;
+import vn.hstore.jobhunter.service.event.JobsImportedEvent;
+import vn.hstore.jobhunter.util.BoundedTtlCache;
+import vn.hstore.jobhunter.util.constant.LevelEnum;
+
+/**
+ * Bộ đệm kết quả GET /api/v1/jobs theo tổ hợp bộ lọc. Giới hạn số phần tử + TTL,
+ * xóa toàn bộ khi có job được tạo / cập nhật / xóa.
+ */
+@Component
+public class JobListingCache {
+
+    private final BoundedTtlCache<String, ResultPaginationDTO> cache;
+
+    public JobListingCache(
+            @Value("${jobhunter.jobs.listing-cache.max-size:500}") int maxSize,
+            @Value("${jobhunter.jobs.listing-cache.ttl-ms:60000}") long ttlMillis) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttlMillis);
+    }
+
+    public static String key(String filter, LevelEnum level, Double minSalary, Double maxSalary,
+            String location, String keyword, Pageable pageable) {
+        return PaginationCountCache.fingerprint(
+                filter, level, minSalary, maxSalary,
+                location == null ? null : location.toLowerCase(),
+                keyword == null ? null : keyword.toLowerCase(),
+                pageable.isPaged() ? pageable.getPageNumber() : -1,
+                pageable.isPaged() ? pageable.getPageSize() : -1,
+                pageable.getSort());
+    }
+
+    public ResultPaginationDTO getOrLoad(String key, Supplier<ResultPaginationDTO> loader) {
+        return this.cache.getOrLoad(key, k -> {
+            ResultPaginationDTO rs = loader.get();
+            initializeAssociations(rs);
+            return rs;
+        });
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        this.cache.clear();
+    }
+
+    @EventListener
+    public void onJobsImported(JobsImportedEvent event) {
+        this.cache.clear();
+    }
+
+    public Map<String, Object> stats() {
+        return this.cache.stats();
+    }
+
+    /**
+     * Kết quả được serialize ở các request sau (ngoài session ban đầu),
+     * nên phải nạp sẵn các quan hệ lazy trước khi đưa vào bộ đệm
+     */
+    private static void initializeAssociations(ResultPaginationDTO rs) {
+        if (!(rs.getResult() instanceof List<?> items)) {
+            return;
+        }
+        for (Object item : items) {
+            if (item instanceof Job job) {
+                Hibernate.initialize(job.getCompany());
+                Hibernate.initialize(job.getSkills());
+            }
+        }
+    }
+}
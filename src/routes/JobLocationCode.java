@@ -0,0 +1,45 @@
+package vn.hstore.jobhunter.domain;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mã tỉnh thành (LocationEnum.name()) của một job, mỗi mã một dòng: job ở "Hà Nội, Hồ Chí Minh"
+ * có hai dòng. Được JobLocationCodeService ghi khi job thay đổi, JobSpecification.hasLocation
+ * lọc bằng so sánh bằng trên bảng này thay cho LIKE trên jobs.location.
+ */
+@Entity
+@Table(name = "job_location_codes", indexes = {
+        @Index(name = "idx_job_location_codes_code", columnList = "location_code, job_id"),
+        @Index(name = "idx_job_location_codes_job", columnList = "job_id") })
+@IdClass(JobLocationCode.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLocationCode {
+
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Id
+    @Column(name = "location_code", length = 32)
+    private String locationCode;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long jobId;
+        private String locationCode;
+    }
+}
@@ -0,0 +1,120 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.repository.JobRepository;
+import vn.hstore.jobhunter.service.event.JobChangedEvent;
+import vn.hstore.jobhunter.util.JobLocationCodes;
+
+/**
+ * Duy trì bảng job_location_codes (mỗi mã tỉnh thành của job một dòng, có index theo mã) để
+ * JobSpecification.hasLocation lọc bằng = / NOT IN thay cho LIKE '%...%'. Job đăng hàng loạt được
+ * JobBulkImportService ghi mã ngay trong câu INSERT.
+ */
+@Service
+public class JobLocationCodeService {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private static final String INSERT_CODE = "INSERT INTO job_location_codes (job_id, location_code) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobRepository jobRepository;
+
+    public JobLocationCodeService(JdbcTemplate jdbcTemplate, JobRepository jobRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobRepository = jobRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void init() {
+        ensureSchema();
+        int updated = backfill();
+        System.out.println(">>> JOB LOCATION CODE BACKFILL: " + updated + " jobs");
+    }
+
+    /**
+     * Tính lại mã địa điểm ngay sau khi job được tạo / cập nhật / xóa
+     */
+    @EventListener
+    @Order(0)
+    @Transactional
+    public void onJobChanged(JobChangedEvent event) {
+        this.jdbcTemplate.update("DELETE FROM job_location_codes WHERE job_id = ?", event.getJobId());
+        if (event.getType() == JobChangedEvent.Type.DELETED) {
+            return;
+        }
+        this.jobRepository.findById(event.getJobId()).ifPresent(this::insertCodes);
+    }
+
+    private void insertCodes(Job job) {
+        List<Object[]> rows = new ArrayList<>();
+        for (String code : JobLocationCodes.resolveAll(job.getLocation())) {
+            rows.add(new Object[] { job.getId(), code });
+        }
+        if (!rows.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT_CODE, rows);
+        }
+    }
+
+    private void ensureSchema() {
+        Integer table = this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.TABLES"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'job_location_codes'",
+                Integer.class);
+        if (table == null || table == 0) {
+            this.jdbcTemplate.execute("CREATE TABLE job_location_codes ("
+                    + " job_id BIGINT NOT NULL,"
+                    + " location_code VARCHAR(32) NOT NULL,"
+                    + " PRIMARY KEY (job_id, location_code))");
+        }
+
+        Integer index = this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.STATISTICS"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'job_location_codes'"
+                        + " AND INDEX_NAME = 'idx_job_location_codes_code'",
+                Integer.class);
+        if (index == null || index == 0) {
+            this.jdbcTemplate.execute(
+                    "CREATE INDEX idx_job_location_codes_code ON job_location_codes (location_code, job_id)");
+        }
+    }
+
+    /**
+     * Điền mã cho các job có địa điểm nhưng chưa có dòng nào, duyệt theo id từng lô để không khóa cả bảng
+     */
+    public int backfill() {
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> jobs = this.jdbcTemplate.query(
+                    "SELECT j.id, j.location FROM jobs j WHERE j.location IS NOT NULL AND j.id > ?"
+                            + " AND NOT EXISTS (SELECT 1 FROM job_location_codes c WHERE c.job_id = j.id)"
+                            + " ORDER BY j.id LIMIT " + BACKFILL_BATCH_SIZE,
+                    (rs, rowNum) -> new Object[] { rs.getLong("id"), rs.getString("location") },
+                    lastId);
+            if (jobs.isEmpty()) {
+                return total;
+            }
+
+            List<Object[]> rows = new ArrayList<>(jobs.size());
+            for (Object[] job : jobs) {
+                for (String code : JobLocationCodes.resolveAll((String) job[1])) {
+                    rows.add(new Object[] { job[0], code });
+                }
+                lastId = (Long) job[0];
+            }
+            this.jdbcTemplate.batchUpdate(INSERT_CODE, rows);
+            total += jobs.size();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package vn.hstore.jobhunter.util;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import vn.hstore.jobhunter.util.constant.LocationEnum;
+
+/**
+ * Quy đổi địa điểm dạng text của job về mã tỉnh thành (LocationEnum.name()),
+ * được lưu ở bảng job_location_codes để lọc bằng so sánh bằng thay cho LIKE.
+ */
+public final class JobLocationCodes {
+
+    public static final String OTHERS = "OTHERS";
+
+    public static final List<String> MAJOR_CITY_CODES = List.of(
+            LocationEnum.HA_NOI.name(),
+            LocationEnum.HO_CHI_MINH.name(),
+            LocationEnum.DA_NANG.name());
+
+    // Tên đã bỏ dấu của LocationEnum tính một lần: dạng viết liền -> mã, dạng có khoảng trắng -> mã
+    private static final Map<String, String> CODES_BY_COMPACT_NAME = new HashMap<>();
+    private static final Map<String, String> CODES_BY_FOLDED_NAME = new LinkedHashMap<>();
+
+    static {
+        for (LocationEnum candidate : LocationEnum.values()) {
+            CODES_BY_COMPACT_NAME.putIfAbsent(VietnameseTextFolder.foldCompact(candidate.name()), candidate.name());
+            CODES_BY_COMPACT_NAME.putIfAbsent(VietnameseTextFolder.foldCompact(candidate.getDisplayName()),
+                    candidate.name());
+            CODES_BY_FOLDED_NAME.putIfAbsent(VietnameseTextFolder.fold(candidate.getDisplayName()), candidate.name());
+        }
+    }
+
+    private JobLocationCodes() {
+    }
+
+    /**
+     * Mã tỉnh thành của giá trị lọc location (chỉ lấy tỉnh đầu tiên khớp), OTHERS nếu không phải
+     * tỉnh thành, null nếu rỗng
+     */
+    public static String resolve(String location) {
+        if (location == null || location.trim().isEmpty()) {
+            return null;
+        }
+        String value = location.trim();
+        String code = exactCode(value);
+        if (code != null) {
+            return code;
+        }
+
+        // Giữ ngữ nghĩa cũ của LIKE '%tên tỉnh%'
+        String folded = VietnameseTextFolder.fold(value);
+        for (Map.Entry<String, String> entry : CODES_BY_FOLDED_NAME.entrySet()) {
+            if (folded.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return OTHERS;
+    }
+
+    /**
+     * Mọi mã tỉnh thành có trong địa điểm của job ("Hà Nội, Hồ Chí Minh" -> HA_NOI, HO_CHI_MINH),
+     * giống LIKE cũ: job khớp bộ lọc của từng tỉnh được nhắc tới. OTHERS nếu không nhận ra tỉnh nào
+     * (kể cả chuỗi rỗng, vì NOT LIKE cũ vẫn tính chúng vào "Others"); rỗng nếu location là null.
+     */
+    public static Set<String> resolveAll(String location) {
+        Set<String> codes = new LinkedHashSet<>();
+        if (location == null) {
+            return codes;
+        }
+        String value = location.trim();
+        String code = value.isEmpty() ? null : exactCode(value);
+        if (code != null) {
+            codes.add(code);
+            return codes;
+        }
+        String folded = VietnameseTextFolder.fold(value);
+        for (Map.Entry<String, String> entry : CODES_BY_FOLDED_NAME.entrySet()) {
+            if (!entry.getKey().isEmpty() && folded.contains(entry.getKey())) {
+                codes.add(entry.getValue());
+            }
+        }
+        if (codes.isEmpty()) {
+            codes.add(OTHERS);
+        }
+        return codes;
+    }
+
+    /**
+     * Job thuộc "Others" khi có địa điểm và không ở Hà Nội, Hồ Chí Minh, Đà Nẵng
+     */
+    public static boolean isOthers(Set<String> codes) {
+        if (codes.isEmpty()) {
+            return false;
+        }
+        for (String code : MAJOR_CITY_CODES) {
+            if (codes.contains(code)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // "Ha Noi", "HANOI", "hà nội" đều là HA_NOI
+    private static String exactCode(String value) {
+        LocationEnum locationEnum = LocationEnum.fromDisplayName(value);
+        if (locationEnum != null) {
+            return locationEnum.name();
+        }
+        return CODES_BY_COMPACT_NAME.get(VietnameseTextFolder.foldCompact(value));
+    }
+}
@@ -0,0 +1,62 @@
+package vn.hstore.jobhunter.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import vn.hstore.jobhunter.util.constant.LocationEnum;
+
+class JobLocationCodesTest {
+
+    private static final String HA_NOI = LocationEnum.HA_NOI.name();
+    private static final String HO_CHI_MINH = LocationEnum.HO_CHI_MINH.name();
+    private static final String DA_NANG = LocationEnum.DA_NANG.name();
+
+    @Test
+    void resolveIgnoresDiacriticsCaseAndSpacing() {
+        assertEquals(HA_NOI, JobLocationCodes.resolve("Hà Nội"));
+        assertEquals(HA_NOI, JobLocationCodes.resolve("ha noi"));
+        assertEquals(HA_NOI, JobLocationCodes.resolve("HANOI"));
+        assertEquals(HA_NOI, JobLocationCodes.resolve(" HA_NOI "));
+        assertEquals(DA_NANG, JobLocationCodes.resolve("Đà Nẵng"));
+        assertEquals(DA_NANG, JobLocationCodes.resolve("da nang"));
+    }
+
+    @Test
+    void resolveMatchesProvinceInsideLongerText() {
+        assertEquals(HO_CHI_MINH, JobLocationCodes.resolve("Quận 1, Hồ Chí Minh"));
+    }
+
+    @Test
+    void resolveReturnsOthersForUnknownAndNullForBlank() {
+        assertEquals(JobLocationCodes.OTHERS, JobLocationCodes.resolve("Remote"));
+        assertNull(JobLocationCodes.resolve(null));
+        assertNull(JobLocationCodes.resolve("   "));
+    }
+
+    @Test
+    void resolveAllReturnsEveryMentionedProvince() {
+        assertEquals(Set.of(HA_NOI, HO_CHI_MINH), JobLocationCodes.resolveAll("Hà Nội, Hồ Chí Minh"));
+        assertEquals(Set.of(DA_NANG), JobLocationCodes.resolveAll("DANANG"));
+    }
+
+    @Test
+    void resolveAllKeepsOldNotLikeSemanticsForOthers() {
+        assertTrue(JobLocationCodes.resolveAll(null).isEmpty());
+        assertEquals(Set.of(JobLocationCodes.OTHERS), JobLocationCodes.resolveAll(""));
+        assertEquals(Set.of(JobLocationCodes.OTHERS), JobLocationCodes.resolveAll("Remote"));
+    }
+
+    @Test
+    void isOthersOnlyWhenLocatedOutsideMajorCities() {
+        assertFalse(JobLocationCodes.isOthers(Set.of()));
+        assertTrue(JobLocationCodes.isOthers(Set.of(JobLocationCodes.OTHERS)));
+        assertFalse(JobLocationCodes.isOthers(Set.of(HA_NOI)));
+        assertFalse(JobLocationCodes.isOthers(JobLocationCodes.resolveAll("Remote, Đà Nẵng")));
+    }
+}
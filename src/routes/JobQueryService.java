@@ -0,0 +1,71 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.domain.response.ResultCursorPaginationDTO;
+import vn.hstore.jobhunter.util.JobSpecification;
+import vn.hstore.jobhunter.util.KeysetPaginator;
+import vn.hstore.jobhunter.util.SpecificationQueries;
+import vn.hstore.jobhunter.util.constant.LevelEnum;
+import vn.hstore.jobhunter.util.error.IdInvalidException;
+
+/**
+ * Các đường đọc danh sách job bổ sung cho JobService.fetchAll
+ */
+@Service
+public class JobQueryService {
+
+    private static final Set<String> CURSOR_SORTABLE_FIELDS = Set.of("createdAt", "updatedAt", "salary");
+
+    private final KeysetPaginator keysetPaginator;
+    private final SpecificationQueries specificationQueries;
+    private final PaginationCountCache paginationCountCache;
+
+    public JobQueryService(KeysetPaginator keysetPaginator, SpecificationQueries specificationQueries,
+            PaginationCountCache paginationCountCache) {
+        this.keysetPaginator = keysetPaginator;
+        this.specificationQueries = specificationQueries;
+        this.paginationCountCache = paginationCountCache;
+    }
+
+    /**
+     * Cùng bộ lọc với JobService.fetchAll
+     */
+    public Specification<Job> buildSpecification(Specification<Job> spec, LevelEnum level,
+            Double minSalary, Double maxSalary, String location) {
+        return Specification.where(spec)
+                .and(JobSpecification.hasLevel(level))
+                .and(JobSpecification.hasLocation(location))
+                .and(JobSpecification.hasSalaryBetween(minSalary, maxSalary));
+    }
+
+    @Transactional(readOnly = true)
+    public ResultCursorPaginationDTO fetchAllByCursor(Specification<Job> spec, String filter, Pageable pageable,
+            LevelEnum level, Double minSalary, Double maxSalary, String location,
+            String cursor, boolean withTotal) throws IdInvalidException {
+        Specification<Job> jobSpec = buildSpecification(spec, level, minSalary, maxSalary, location);
+        LongSupplier total = !withTotal ? null : () -> this.paginationCountCache.count(
+                PaginationCountCache.JOBS,
+                PaginationCountCache.fingerprint(filter, level, minSalary, maxSalary, location),
+                false,
+                () -> this.specificationQueries.count(Job.class, jobSpec));
+
+        return this.keysetPaginator.fetch(
+                Job.class,
+                jobSpec,
+                pageable.getSort(),
+                CURSOR_SORTABLE_FIELDS,
+                cursor,
+                pageable.getPageSize(),
+                total,
+                Function.identity());
+    }
+}
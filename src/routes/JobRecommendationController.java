@@ -0,0 +1,39 @@
+package vn.hstore.jobhunter.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import vn.hstore.jobhunter.domain.response.job.ResJobRecommendationDTO;
+import vn.hstore.jobhunter.service.JobRecommendationService;
+import vn.hstore.jobhunter.util.annotation.ApiMessage;
+
+@RestController
+@RequestMapping("/api/v1")
+public class JobRecommendationController {
+
+    private final JobRecommendationService jobRecommendationService;
+
+    public JobRecommendationController(JobRecommendationService jobRecommendationService) {
+        this.jobRecommendationService = jobRecommendationService;
+    }
+
+    @GetMapping("/jobs/recommendations")
+    @ApiMessage("Get recommended jobs for a user")
+    public ResponseEntity<List<ResJobRecommendationDTO>> getRecommendations(
+            @RequestParam("userId") Long userId,
+            @RequestParam(defaultValue = "10", name = "limit") int limit) {
+        return ResponseEntity.ok(this.jobRecommendationService.recommend(userId, Math.max(1, limit)));
+    }
+
+    @GetMapping("/jobs/recommendations/cache/stats")
+    @ApiMessage("Get job recommendation cache statistics")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(this.jobRecommendationService.cacheStats());
+    }
+}
@@ -0,0 +1,383 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import vn.hstore.jobhunter.domain.CV;
+import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.domain.Skill;
+import vn.hstore.jobhunter.domain.response.job.ResJobRecommendationDTO;
+import vn.hstore.jobhunter.repository.CVRepository;
+import vn.hstore.jobhunter.repository.JobRepository;
+import vn.hstore.jobhunter.service.event.CVChangedEvent;
+import vn.hstore.jobhunter.service.event.JobChangedEvent;
+import vn.hstore.jobhunter.service.event.JobsImportedEvent;
+import vn.hstore.jobhunter.util.BoundedTtlCache;
+import vn.hstore.jobhunter.util.SkillTermDictionary;
+import vn.hstore.jobhunter.util.TopKHeap;
+
+/**
+ * Gợi ý job cho ứng viên dựa trên kỹ năng trong CV.
+ *
+ * Kỹ năng của job và CV được chuẩn hóa thành id số nguyên (SkillTermDictionary).
+ * Mỗi job đang tuyển có một slot; posting list kỹ năng -> các slot được giữ trong bộ nhớ.
+ * Khi chấm điểm chỉ duyệt các slot có chung kỹ năng, cộng dồn vào mảng đếm dùng lại
+ * theo từng luồng và giữ top-K bằng min-heap cố định. Kết quả được cache theo user,
+ * xóa khi CV của user thay đổi hoặc khi có job thay đổi.
+ */
+@Service
+public class JobRecommendationService {
+
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final EntityManager entityManager;
+    private final JobRepository jobRepository;
+    private final CVRepository cvRepository;
+    private final int maxResults;
+    private final BoundedTtlCache<Long, List<ResJobRecommendationDTO>> cache;
+
+    private final SkillTermDictionary dictionary = new SkillTermDictionary();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotOfJob = new HashMap<>();
+    private long[] slotJobIds = new long[0];
+    private int[][] slotSkills = new int[0][];
+    private int[] freeSlots = new int[0];
+    private int freeCount = 0;
+    private int slotCount = 0;
+    // id kỹ năng -> các slot job yêu cầu kỹ năng đó
+    private int[][] postings = new int[0][];
+    private int[] postingSizes = new int[0];
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+    private volatile boolean ready = false;
+
+    public JobRecommendationService(EntityManager entityManager,
+            JobRepository jobRepository,
+            CVRepository cvRepository,
+            @Value("${jobhunter.recommendations.max-results:20}") int maxResults,
+            @Value("${jobhunter.recommendations.cache.max-size:5000}") int cacheSize,
+            @Value("${jobhunter.recommendations.cache.ttl-ms:600000}") long cacheTtlMillis) {
+        this.entityManager = entityManager;
+        this.jobRepository = jobRepository;
+        this.cvRepository = cvRepository;
+        this.maxResults = maxResults;
+        this.cache = new BoundedTtlCache<>(cacheSize, cacheTtlMillis);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public SkillTermDictionary getDictionary() {
+        return dictionary;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<Object[]> rows = this.entityManager.createQuery(
+                "select j.id, s.name from Job j join j.skills s where j.active = true order by j.id",
+                Object[].class)
+                .getResultList();
+
+        lock.writeLock().lock();
+        try {
+            long currentJob = -1;
+            int[] terms = new int[8];
+            int n = 0;
+            for (Object[] row : rows) {
+                long jobId = (Long) row[0];
+                if (jobId != currentJob) {
+                    if (currentJob >= 0) {
+                        putJob(currentJob, SkillTermDictionary.distinctSorted(terms, n));
+                    }
+                    currentJob = jobId;
+                    n = 0;
+                }
+                if (n == terms.length) {
+                    terms = Arrays.copyOf(terms, n * 2);
+                }
+                int term = dictionary.idOf((String) row[1]);
+                if (term >= 0) {
+                    terms[n++] = term;
+                }
+            }
+            if (currentJob >= 0) {
+                putJob(currentJob, SkillTermDictionary.distinctSorted(terms, n));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        this.ready = true;
+        System.out.println(">>> JOB RECOMMENDATION INDEX: " + slotOfJob.size() + " jobs, "
+                + dictionary.size() + " skills");
+    }
+
+    @EventListener
+    @Transactional(readOnly = true)
+    public void onJobChanged(JobChangedEvent event) {
+        Job job = event.getType() == JobChangedEvent.Type.DELETED
+                ? null
+                : this.jobRepository.findById(event.getJobId()).orElse(null);
+
+        int[] terms = termsOf(job);
+
+        lock.writeLock().lock();
+        try {
+            removeJob(event.getJobId());
+            if (terms != null && terms.length > 0) {
+                putJob(event.getJobId(), terms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        this.cache.clear();
+    }
+
+    @EventListener
+    @Transactional(readOnly = true)
+    public void onJobsImported(JobsImportedEvent event) {
+        List<Job> jobs = this.jobRepository.findAllById(event.getJobIds());
+        List<int[]> terms = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            terms.add(termsOf(job));
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < jobs.size(); i++) {
+                int[] jobTerms = terms.get(i);
+                if (jobTerms != null && jobTerms.length > 0) {
+                    removeJob(jobs.get(i).getId());
+                    putJob(jobs.get(i).getId(), jobTerms);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        this.cache.clear();
+    }
+
+    /**
+     * Id kỹ năng của job đang tuyển, null nếu job không còn / không tuyển
+     */
+    private int[] termsOf(Job job) {
+        if (job == null || !job.isActive() || job.getSkills() == null) {
+            return null;
+        }
+        int[] ids = new int[job.getSkills().size()];
+        int n = 0;
+        for (Skill skill : job.getSkills()) {
+            int term = dictionary.idOf(skill.getName());
+            if (term >= 0) {
+                ids[n++] = term;
+            }
+        }
+        return SkillTermDictionary.distinctSorted(ids, n);
+    }
+
+    @EventListener
+    public void onCVChanged(CVChangedEvent event) {
+        if (event.getUserId() != null) {
+            this.cache.remove(event.getUserId());
+        }
+    }
+
+    public Map<String, Object> cacheStats() {
+        return this.cache.stats();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ResJobRecommendationDTO> recommend(long userId, int limit) {
+        List<ResJobRecommendationDTO> all = this.cache.getOrLoad(userId, this::computeRecommendations);
+        return all.size() <= limit ? all : all.subList(0, limit);
+    }
+
+    private List<ResJobRecommendationDTO> computeRecommendations(long userId) {
+        // Gộp kỹ năng từ tất cả CV của user
+        StringBuilder skillsText = new StringBuilder();
+        for (CV cv : this.cvRepository.findByUserId(userId)) {
+            if (cv.getSkills() != null) {
+                skillsText.append(cv.getSkills()).append('\n');
+            }
+        }
+        int[] cvTerms = dictionary.lookupAll(skillsText.toString());
+        if (cvTerms.length == 0) {
+            return new ArrayList<>();
+        }
+
+        long[] topIds = new long[maxResults];
+        double[] topScores = new double[maxResults];
+        int[] topMatches = new int[maxResults];
+        int found = score(cvTerms, topIds, topScores, topMatches);
+        return hydrate(topIds, topScores, topMatches, found);
+    }
+
+    /**
+     * Chấm điểm các job có ít nhất một kỹ năng chung với CV, ghi top-K vào các mảng kết quả
+     */
+    private int score(int[] cvTerms, long[] topIds, double[] topScores, int[] topMatches) {
+        Scratch s = scratch.get();
+        lock.readLock().lock();
+        try {
+            s.ensureCapacity(slotCount, maxResults);
+            int touched = 0;
+            for (int term : cvTerms) {
+                if (term >= postings.length) {
+                    continue;
+                }
+                int[] slots = postings[term];
+                int size = postingSizes[term];
+                for (int i = 0; i < size; i++) {
+                    int slot = slots[i];
+                    if (s.counts[slot]++ == 0) {
+                        s.touched[touched++] = slot;
+                    }
+                }
+            }
+
+            double cvNorm = Math.sqrt(cvTerms.length);
+            s.heap.clear();
+            for (int i = 0; i < touched; i++) {
+                int slot = s.touched[i];
+                int matched = s.counts[slot];
+                double similarity = matched / (cvNorm * Math.sqrt(slotSkills[slot].length));
+                // Đưa id job (không phải slot) vào heap: slot được dùng lại nên cùng điểm phải so theo id
+                s.heap.offer(slotJobIds[slot], similarity);
+            }
+
+            int found = s.heap.drainDescending(topIds, topScores);
+            for (int i = 0; i < found; i++) {
+                topMatches[i] = s.counts[slotOfJob.get(topIds[i])];
+            }
+            // Trả mảng đếm về 0 cho lần sau
+            for (int i = 0; i < touched; i++) {
+                s.counts[s.touched[i]] = 0;
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<ResJobRecommendationDTO> hydrate(long[] ids, double[] scores, int[] matches, int found) {
+        List<Long> idList = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            idList.add(ids[i]);
+        }
+        Map<Long, Job> byId = new HashMap<>();
+        for (Job job : this.jobRepository.findAllById(idList)) {
+            byId.put(job.getId(), job);
+        }
+
+        List<ResJobRecommendationDTO> result = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            Job job = byId.get(ids[i]);
+            if (job == null) {
+                continue;
+            }
+            ResJobRecommendationDTO dto = new ResJobRecommendationDTO();
+            dto.setId(job.getId());
+            dto.setName(job.getName());
+            dto.setLocation(job.getLocation());
+            dto.setSalary(job.getSalary());
+            dto.setLevel(job.getLevel());
+            if (job.getCompany() != null) {
+                dto.setCompanyName(job.getCompany().getName());
+                dto.setCompanyLogo(job.getCompany().getLogo());
+            }
+            dto.setMatchedSkills(matches[i]);
+            dto.setScore(scores[i]);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private void putJob(long jobId, int[] terms) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            slot = slotCount++;
+            if (slot >= slotJobIds.length) {
+                int capacity = Math.max(16, slotJobIds.length * 2);
+                slotJobIds = Arrays.copyOf(slotJobIds, capacity);
+                slotSkills = Arrays.copyOf(slotSkills, capacity);
+            }
+        }
+        slotJobIds[slot] = jobId;
+        slotSkills[slot] = terms;
+        slotOfJob.put(jobId, slot);
+
+        for (int term : terms) {
+            if (term >= postings.length) {
+                int capacity = Math.max(term + 1, postings.length * 2);
+                int oldLength = postings.length;
+                postings = Arrays.copyOf(postings, capacity);
+                postingSizes = Arrays.copyOf(postingSizes, capacity);
+                Arrays.fill(postings, oldLength, capacity, NO_SLOTS);
+            }
+            int size = postingSizes[term];
+            if (size == postings[term].length) {
+                postings[term] = Arrays.copyOf(postings[term], Math.max(4, size * 2));
+            }
+            postings[term][size] = slot;
+            postingSizes[term] = size + 1;
+        }
+    }
+
+    private void removeJob(long jobId) {
+        Integer slot = slotOfJob.remove(jobId);
+        if (slot == null) {
+            return;
+        }
+        for (int term : slotSkills[slot]) {
+            int[] slots = postings[term];
+            int size = postingSizes[term];
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[size - 1];
+                    postingSizes[term] = size - 1;
+                    break;
+                }
+            }
+        }
+        slotSkills[slot] = NO_SLOTS;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(16, freeSlots.length * 2));
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Bộ nhớ tạm dùng lại giữa các lần chấm điểm trên cùng một luồng
+     */
+    private static class Scratch {
+        int[] counts = new int[0];
+        int[] touched = new int[0];
+        int heapCapacity = 0;
+        TopKHeap heap = new TopKHeap(0);
+
+        void ensureCapacity(int slots, int k) {
+            if (counts.length < slots) {
+                counts = new int[slots];
+                touched = new int[slots];
+            }
+            if (heapCapacity != k) {
+                heapCapacity = k;
+                heap = new TopKHeap(k);
+            }
+        }
+    }
+}
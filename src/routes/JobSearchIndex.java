@@ -0,0 +1,620 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.domain.Skill;
+import vn.hstore.jobhunter.domain.response.ResultPaginationDTO;
+import vn.hstore.jobhunter.domain.response.job.ResJobFacetsDTO;
+import vn.hstore.jobhunter.repository.JobRepository;
+import vn.hstore.jobhunter.service.event.JobChangedEvent;
+import vn.hstore.jobhunter.service.event.JobsImportedEvent;
+import vn.hstore.jobhunter.util.JobLocationCodes;
+import vn.hstore.jobhunter.util.SalaryIndex;
+import vn.hstore.jobhunter.util.SortedLongs;
+import vn.hstore.jobhunter.util.VietnameseTextFolder;
+import vn.hstore.jobhunter.util.constant.LevelEnum;
+import vn.hstore.jobhunter.util.constant.SalaryBandEnum;
+
+/**
+ * Chỉ mục đảo (inverted index) trong bộ nhớ cho danh sách job: tên job, địa điểm,
+ * kỹ năng và công ty. Dùng để trả lời GET /api/v1/jobs bằng posting list,
+ * database chỉ dùng để lấy dữ liệu cho trang kết quả cuối cùng.
+ *
+ * Bật mặc định; tắt bằng jobhunter.search.index.enabled=false (khi đó /jobs/search
+ * dùng JobSpecification.hasNameLike)
+ */
+@Service
+public class JobSearchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 500;
+    private static final String NEXT_IDS_QUERY = "select j.id from Job j where j.id > :lastId order by j.id";
+    // Nạp company / skills cùng lúc với job thay vì lazy load từng job (N+1)
+    private static final String DOCUMENTS_QUERY = "select distinct j from Job j "
+            + "left join fetch j.company "
+            + "left join fetch j.skills "
+            + "where j.id in :ids";
+
+    // Trọng số khi xếp hạng kết quả tìm kiếm theo từ khóa
+    private static final int TITLE_WEIGHT = 4;
+    private static final int SKILL_WEIGHT = 2;
+    private static final int COMPANY_WEIGHT = 1;
+    private static final int LOCATION_WEIGHT = 1;
+    private static final int ID_BITS = 40;
+    // Term đánh dấu job có địa điểm (tokenize không bao giờ sinh ra "*"), dùng cho bộ lọc "Others"
+    private static final String LOCATED_TERM = "*";
+
+    private final JobRepository jobRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, long[]> titlePostings = new HashMap<>();
+    private final Map<String, long[]> locationPostings = new HashMap<>();
+    private final Map<String, long[]> skillPostings = new HashMap<>();
+    private final Map<String, long[]> companyPostings = new HashMap<>();
+    private final Map<LevelEnum, long[]> levelPostings = new EnumMap<>(LevelEnum.class);
+    private final Map<Long, IndexedJob> documents = new HashMap<>();
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+    private long[] allIds = SortedLongs.EMPTY;
+    // Job được index / xóa qua event trong lúc load() đang chạy (truy cập dưới write lock)
+    private boolean loading = false;
+    private final Set<Long> touchedDuringLoad = new HashSet<>();
+
+    private volatile boolean ready = false;
+
+    public JobSearchIndex(JobRepository jobRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${jobhunter.search.index.enabled:true}") boolean enabled) {
+        this.jobRepository = jobRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Chỉ mục chỉ trả lời được các truy vấn không có @Filter và không yêu cầu sắp xếp
+     * (kết quả mặc định là job mới nhất trước)
+     */
+    public boolean canServe(Specification<Job> spec, Pageable pageable) {
+        return ready && willServe(spec, pageable);
+    }
+
+    /**
+     * Truy vấn do chỉ mục trả lời khi đã nạp xong (canServe() có thể vẫn false nếu đang nạp)
+     */
+    public boolean willServe(Specification<Job> spec, Pageable pageable) {
+        return enabled && spec == null && pageable.getSort().isUnsorted();
+    }
+
+    /**
+     * Nạp toàn bộ job theo từng lô id tăng dần (keyset, không OFFSET). Mỗi lô một transaction
+     * read-only ngắn nên persistence context được bỏ sau mỗi lô, không giữ mọi Job trên heap.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        System.out.println(">>> START BUILD JOB SEARCH INDEX");
+        lock.writeLock().lock();
+        try {
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Gom id vào mảng tăng dần theo từng posting list, mỗi list chỉ sắp xếp một lần ở cuối
+        // (chèn từng id bằng SortedLongs.insert sẽ copy cả mảng mỗi lần: O(N²) khi nạp toàn bộ)
+        Map<Long, IndexedJob> loaded = new HashMap<>();
+        PostingBuilder<String> titles = new PostingBuilder<>();
+        PostingBuilder<String> locations = new PostingBuilder<>();
+        PostingBuilder<String> skills = new PostingBuilder<>();
+        PostingBuilder<String> companies = new PostingBuilder<>();
+        PostingBuilder<LevelEnum> levels = new PostingBuilder<>();
+        long lastId = 0;
+        List<Long> batchIds;
+        do {
+            long after = lastId;
+            List<IndexedJob> batch = new ArrayList<>();
+            batchIds = this.transactionTemplate.execute(status -> {
+                List<Long> ids = this.entityManager.createQuery(NEXT_IDS_QUERY, Long.class)
+                        .setParameter("lastId", after)
+                        .setMaxResults(LOAD_BATCH_SIZE)
+                        .getResultList();
+                batch.addAll(fetchDocuments(ids));
+                return ids;
+            });
+            if (!batchIds.isEmpty()) {
+                lastId = batchIds.get(batchIds.size() - 1);
+            }
+            for (IndexedJob doc : batch) {
+                loaded.put(doc.id, doc);
+                if (doc.level != null) {
+                    levels.add(doc.level, doc.id);
+                }
+                titles.addAll(doc.titleTerms, doc.id);
+                locations.addAll(doc.locationTerms, doc.id);
+                skills.addAll(doc.skillTerms, doc.id);
+                companies.addAll(doc.companyTerms, doc.id);
+            }
+        } while (batchIds.size() == LOAD_BATCH_SIZE);
+
+        long[] ids = new long[loaded.size()];
+        int n = 0;
+        for (Long id : loaded.keySet()) {
+            ids[n++] = id;
+        }
+        Arrays.sort(ids);
+
+        lock.writeLock().lock();
+        try {
+            // Job thay đổi trong lúc nạp: giữ bản mới nhất đã nhận qua event
+            Map<Long, IndexedJob> changed = new HashMap<>();
+            for (Long id : touchedDuringLoad) {
+                changed.put(id, documents.get(id));
+            }
+            documents.clear();
+            documents.putAll(loaded);
+            allIds = ids;
+            titles.buildInto(titlePostings);
+            locations.buildInto(locationPostings);
+            skills.buildInto(skillPostings);
+            companies.buildInto(companyPostings);
+            levels.buildInto(levelPostings);
+            for (Map.Entry<Long, IndexedJob> entry : changed.entrySet()) {
+                removeDocument(entry.getKey());
+                if (entry.getValue() != null) {
+                    addDocument(entry.getValue());
+                }
+            }
+            touchedDuringLoad.clear();
+            loading = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        rebuildSalaryIndex();
+        this.ready = true;
+        System.out.println(">>> END BUILD JOB SEARCH INDEX: " + documents.size() + " jobs");
+    }
+
+    @EventListener
+    @Transactional(readOnly = true)
+    public void onJobChanged(JobChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.getType() == JobChangedEvent.Type.DELETED) {
+            remove(event.getJobId());
+            return;
+        }
+        this.jobRepository.findById(event.getJobId()).ifPresentOrElse(
+                this::index,
+                () -> remove(event.getJobId()));
+    }
+
+    @EventListener
+    @Transactional(readOnly = true)
+    public void onJobsImported(JobsImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (IndexedJob doc : fetchDocuments(event.getJobIds())) {
+            index(doc);
+        }
+    }
+
+    public void index(Job job) {
+        index(toDocument(job));
+    }
+
+    private void index(IndexedJob doc) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                touchedDuringLoad.add(doc.id);
+            }
+            removeDocument(doc.id);
+            addDocument(doc);
+            salaryIndex.put(doc.id, doc.salary);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long jobId) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                touchedDuringLoad.add(jobId);
+            }
+            removeDocument(jobId);
+            salaryIndex.remove(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cùng tham số với JobService.fetchAll, thêm keyword (tên job / kỹ năng / công ty)
+     */
+    public ResultPaginationDTO fetchAll(Pageable pageable, LevelEnum level, Double minSalary,
+            Double maxSalary, String location, String keyword) {
+        long[] ids = search(level, minSalary, maxSalary, location, keyword);
+
+        // Job mới nhất (id lớn nhất) lên trước
+        int total = ids.length;
+        int from = Math.min((int) pageable.getOffset(), total);
+        int to = Math.min(from + pageable.getPageSize(), total);
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = total - 1 - from; i > total - 1 - to; i--) {
+            pageIds.add(ids[i]);
+        }
+
+        ResultPaginationDTO rs = new ResultPaginationDTO();
+        ResultPaginationDTO.Meta mt = new ResultPaginationDTO.Meta();
+        mt.setPage(pageable.getPageNumber() + 1);
+        mt.setPageSize(pageable.getPageSize());
+        mt.setPages(pageable.getPageSize() == 0 ? 1 : (int) Math.ceil((double) total / pageable.getPageSize()));
+        mt.setTotal(total);
+        rs.setMeta(mt);
+        rs.setResult(hydrate(pageIds));
+        return rs;
+    }
+
+    public long[] search(LevelEnum level, Double minSalary, Double maxSalary, String location, String keyword) {
+        lock.readLock().lock();
+        try {
+            long[] result = allIds;
+
+            if (level != null) {
+                result = SortedLongs.intersect(result, levelPostings.getOrDefault(level, SortedLongs.EMPTY));
+            }
+
+            if (location != null && !location.trim().isEmpty()) {
+                result = SortedLongs.intersect(result, matchLocation(location));
+            }
+
+            if (keyword != null && !keyword.trim().isEmpty()) {
+                for (String term : tokenize(keyword)) {
+                    long[] termIds = SortedLongs.union(
+                            SortedLongs.union(
+                                    titlePostings.getOrDefault(term, SortedLongs.EMPTY),
+                                    skillPostings.getOrDefault(term, SortedLongs.EMPTY)),
+                            companyPostings.getOrDefault(term, SortedLongs.EMPTY));
+                    result = SortedLongs.intersect(result, termIds);
+                    if (result.length == 0) {
+                        return result;
+                    }
+                }
+            }
+
+            if (minSalary != null || maxSalary != null) {
+                result = salaryIndex.filter(result, minSalary, maxSalary);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Đếm theo level, địa điểm và khoảng lương trong một lần duyệt tập kết quả
+     */
+    public ResJobFacetsDTO facets(LevelEnum level, Double minSalary, Double maxSalary, String location,
+            String keyword) {
+        long[] ids = search(level, minSalary, maxSalary, location, keyword);
+        ResJobFacetsDTO facets = new ResJobFacetsDTO();
+        lock.readLock().lock();
+        try {
+            for (long id : ids) {
+                IndexedJob doc = documents.get(id);
+                if (doc == null) {
+                    continue;
+                }
+                facets.add(doc.level == null ? null : doc.level.name(), SalaryBandEnum.of(doc.salary).name(), 1);
+                for (String code : doc.locationCodes) {
+                    if (!JobLocationCodes.OTHERS.equals(code)) {
+                        facets.addLocation(code, 1);
+                    }
+                }
+                if (JobLocationCodes.isOthers(doc.locationCodes)) {
+                    facets.addLocation(JobFacetService.OTHERS, 1);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return facets;
+    }
+
+    /**
+     * Tìm theo từ khóa đã bỏ dấu trên tên job, kỹ năng, công ty và địa điểm,
+     * xếp hạng theo số trường khớp (tên job nặng nhất), cùng điểm thì job mới hơn lên trước
+     */
+    public ResultPaginationDTO searchRanked(String query, LevelEnum level, String location, Pageable pageable) {
+        Set<String> terms = tokenize(query);
+        long[] ranked;
+        lock.readLock().lock();
+        try {
+            long[] candidates = SortedLongs.EMPTY;
+            for (String term : terms) {
+                candidates = SortedLongs.union(candidates, titlePostings.getOrDefault(term, SortedLongs.EMPTY));
+                candidates = SortedLongs.union(candidates, skillPostings.getOrDefault(term, SortedLongs.EMPTY));
+                candidates = SortedLongs.union(candidates, companyPostings.getOrDefault(term, SortedLongs.EMPTY));
+                candidates = SortedLongs.union(candidates, locationPostings.getOrDefault(term, SortedLongs.EMPTY));
+            }
+            if (level != null) {
+                candidates = SortedLongs.intersect(candidates, levelPostings.getOrDefault(level, SortedLongs.EMPTY));
+            }
+            if (location != null && !location.trim().isEmpty()) {
+                candidates = SortedLongs.intersect(candidates, matchLocation(location));
+            }
+
+            // Gói (điểm, id) vào một long để sắp xếp mảng nguyên thủy, không boxing
+            ranked = new long[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                long id = candidates[i];
+                long score = 0;
+                for (String term : terms) {
+                    score += weightIfContains(titlePostings, term, id, TITLE_WEIGHT)
+                            + weightIfContains(skillPostings, term, id, SKILL_WEIGHT)
+                            + weightIfContains(companyPostings, term, id, COMPANY_WEIGHT)
+                            + weightIfContains(locationPostings, term, id, LOCATION_WEIGHT);
+                }
+                ranked[i] = (score << ID_BITS) | id;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Arrays.sort(ranked);
+
+        int total = ranked.length;
+        int from = Math.min((int) pageable.getOffset(), total);
+        int to = Math.min(from + pageable.getPageSize(), total);
+        long idMask = (1L << ID_BITS) - 1;
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = total - 1 - from; i > total - 1 - to; i--) {
+            pageIds.add(ranked[i] & idMask);
+        }
+
+        ResultPaginationDTO rs = new ResultPaginationDTO();
+        ResultPaginationDTO.Meta mt = new ResultPaginationDTO.Meta();
+        mt.setPage(pageable.getPageNumber() + 1);
+        mt.setPageSize(pageable.getPageSize());
+        mt.setPages(pageable.getPageSize() == 0 ? 1 : (int) Math.ceil((double) total / pageable.getPageSize()));
+        mt.setTotal(total);
+        rs.setMeta(mt);
+        rs.setResult(hydrate(pageIds));
+        return rs;
+    }
+
+    private static int weightIfContains(Map<String, long[]> postings, String term, long id, int weight) {
+        long[] ids = postings.get(term);
+        return ids != null && SortedLongs.contains(ids, id) ? weight : 0;
+    }
+
+    private long[] matchLocation(String location) {
+        // "Others" = có địa điểm nhưng không thuộc Hà Nội, Hồ Chí Minh, Đà Nẵng (giống JobSpecification)
+        if (location.equalsIgnoreCase("Others")) {
+            long[] majorCities = SortedLongs.EMPTY;
+            for (String code : JobLocationCodes.MAJOR_CITY_CODES) {
+                majorCities = SortedLongs.union(majorCities, locationPostings.getOrDefault(code, SortedLongs.EMPTY));
+            }
+            return SortedLongs.difference(locationPostings.getOrDefault(LOCATED_TERM, SortedLongs.EMPTY),
+                    majorCities);
+        }
+
+        String locationCode = JobLocationCodes.resolve(location);
+        if (!JobLocationCodes.OTHERS.equals(locationCode)) {
+            return locationPostings.getOrDefault(locationCode, SortedLongs.EMPTY);
+        }
+
+        // Không phải tỉnh thành hợp lệ: tìm theo từ khóa trong địa điểm
+        long[] result = allIds;
+        for (String term : tokenize(location)) {
+            result = SortedLongs.intersect(result, locationPostings.getOrDefault(term, SortedLongs.EMPTY));
+        }
+        return result;
+    }
+
+    private void rebuildSalaryIndex() {
+        lock.readLock().lock();
+        try {
+            long[] ids = new long[documents.size()];
+            double[] salaries = new double[documents.size()];
+            int n = 0;
+            for (IndexedJob doc : documents.values()) {
+                ids[n] = doc.id;
+                salaries[n] = doc.salary;
+                n++;
+            }
+            salaryIndex.rebuild(ids, salaries, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Job> hydrate(List<Long> pageIds) {
+        if (pageIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Job> byId = new HashMap<>();
+        for (Job job : this.jobRepository.findAllById(pageIds)) {
+            byId.put(job.getId(), job);
+        }
+        List<Job> result = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            Job job = byId.get(id);
+            if (job != null) {
+                result.add(job);
+            }
+        }
+        return result;
+    }
+
+    // Gọi trong transaction; id không còn tồn tại thì bị bỏ qua
+    private List<IndexedJob> fetchDocuments(List<Long> ids) {
+        List<IndexedJob> docs = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return docs;
+        }
+        for (Job job : this.entityManager.createQuery(DOCUMENTS_QUERY, Job.class)
+                .setParameter("ids", ids)
+                .getResultList()) {
+            docs.add(toDocument(job));
+        }
+        return docs;
+    }
+
+    private IndexedJob toDocument(Job job) {
+        IndexedJob doc = new IndexedJob();
+        doc.id = job.getId();
+        doc.level = job.getLevel();
+        doc.salary = job.getSalary();
+        doc.titleTerms = tokenize(job.getName());
+        doc.locationCodes = JobLocationCodes.resolveAll(job.getLocation());
+        doc.locationTerms = locationTerms(job.getLocation(), doc.locationCodes);
+        doc.skillTerms = new LinkedHashSet<>();
+        if (job.getSkills() != null) {
+            for (Skill skill : job.getSkills()) {
+                doc.skillTerms.addAll(tokenize(skill.getName()));
+            }
+        }
+        doc.companyTerms = job.getCompany() != null ? tokenize(job.getCompany().getName()) : Set.of();
+        return doc;
+    }
+
+    private Set<String> locationTerms(String location, Set<String> locationCodes) {
+        Set<String> terms = tokenize(location);
+        terms.addAll(locationCodes);
+        if (location != null) {
+            terms.add(LOCATED_TERM);
+        }
+        return terms;
+    }
+
+    private void addDocument(IndexedJob doc) {
+        documents.put(doc.id, doc);
+        allIds = SortedLongs.insert(allIds, doc.id);
+        if (doc.level != null) {
+            levelPostings.merge(doc.level, new long[] { doc.id }, SortedLongs::union);
+        }
+        addPostings(titlePostings, doc.titleTerms, doc.id);
+        addPostings(locationPostings, doc.locationTerms, doc.id);
+        addPostings(skillPostings, doc.skillTerms, doc.id);
+        addPostings(companyPostings, doc.companyTerms, doc.id);
+    }
+
+    private void removeDocument(long id) {
+        IndexedJob doc = documents.remove(id);
+        if (doc == null) {
+            return;
+        }
+        allIds = SortedLongs.remove(allIds, id);
+        if (doc.level != null) {
+            levelPostings.computeIfPresent(doc.level, (k, ids) -> emptyToNull(SortedLongs.remove(ids, id)));
+        }
+        removePostings(titlePostings, doc.titleTerms, id);
+        removePostings(locationPostings, doc.locationTerms, id);
+        removePostings(skillPostings, doc.skillTerms, id);
+        removePostings(companyPostings, doc.companyTerms, id);
+    }
+
+    private static void addPostings(Map<String, long[]> postings, Set<String> terms, long id) {
+        for (String term : terms) {
+            postings.merge(term, new long[] { id }, SortedLongs::union);
+        }
+    }
+
+    private static void removePostings(Map<String, long[]> postings, Set<String> terms, long id) {
+        for (String term : terms) {
+            postings.computeIfPresent(term, (k, ids) -> emptyToNull(SortedLongs.remove(ids, id)));
+        }
+    }
+
+    /**
+     * Posting list đang dựng khi nạp toàn bộ: mảng tăng dần (gấp đôi khi đầy), sắp xếp + bỏ trùng
+     * một lần trong buildInto. Cập nhật lẻ sau đó vẫn dùng SortedLongs.insert / remove.
+     */
+    private static final class PostingBuilder<K> {
+        private final Map<K, long[]> values = new HashMap<>();
+        private final Map<K, Integer> sizes = new HashMap<>();
+
+        void add(K key, long id) {
+            long[] ids = values.get(key);
+            int size = sizes.getOrDefault(key, 0);
+            if (ids == null) {
+                ids = new long[4];
+            } else if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = id;
+            values.put(key, ids);
+            sizes.put(key, size + 1);
+        }
+
+        void addAll(Set<K> keys, long id) {
+            for (K key : keys) {
+                add(key, id);
+            }
+        }
+
+        void buildInto(Map<K, long[]> postings) {
+            postings.clear();
+            for (Map.Entry<K, long[]> entry : values.entrySet()) {
+                postings.put(entry.getKey(), SortedLongs.sortedDistinct(entry.getValue(), sizes.get(entry.getKey())));
+            }
+        }
+    }
+
+    private static long[] emptyToNull(long[] ids) {
+        return ids.length == 0 ? null : ids;
+    }
+
+    /**
+     * Từ khóa được bỏ dấu một lần khi ghi vào chỉ mục và một lần cho câu truy vấn,
+     * nên "Ha Noi" và "Hà Nội" khớp cùng posting list
+     */
+    static Set<String> tokenize(String text) {
+        return VietnameseTextFolder.tokenize(text);
+    }
+
+    private static class IndexedJob {
+        long id;
+        LevelEnum level;
+        double salary;
+        Set<String> titleTerms;
+        Set<String> locationCodes;
+        Set<String> locationTerms;
+        Set<String> skillTerms;
+        Set<String> companyTerms;
+    }
+}
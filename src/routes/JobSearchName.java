@@ -0,0 +1,29 @@
+package vn.hstore.jobhunter.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tên job đã bỏ dấu và chữ hoa (VietnameseTextFolder.fold, kể cả "đ" -> "d"), mỗi job một dòng.
+ * Được JobSearchNameService ghi khi job thay đổi; JobSpecification.hasNameLike so khớp trên cột này
+ * nên không phụ thuộc charset / collation của jobs.name.
+ */
+@Entity
+@Table(name = "job_search_names")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSearchName {
+
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(name = "folded_name", nullable = false)
+    private String foldedName;
+}
@@ -0,0 +1,99 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import vn.hstore.jobhunter.service.event.JobChangedEvent;
+import vn.hstore.jobhunter.util.VietnameseTextFolder;
+
+/**
+ * Duy trì bảng job_search_names (tên job đã fold) để JobSpecification.hasNameLike so khớp
+ * không dấu mà không cần COLLATE trên jobs.name. Job đăng hàng loạt được JobBulkImportService
+ * ghi tên ngay trong transaction insert.
+ */
+@Service
+public class JobSearchNameService {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private static final String INSERT_NAME = "INSERT INTO job_search_names (job_id, folded_name) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobSearchNameService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void init() {
+        ensureSchema();
+        int updated = backfill();
+        System.out.println(">>> JOB SEARCH NAME BACKFILL: " + updated + " jobs");
+    }
+
+    /**
+     * Ghi lại tên đã fold ngay sau khi job được tạo / cập nhật / xóa
+     */
+    @EventListener
+    @Order(0)
+    @Transactional
+    public void onJobChanged(JobChangedEvent event) {
+        this.jdbcTemplate.update("DELETE FROM job_search_names WHERE job_id = ?", event.getJobId());
+        if (event.getType() == JobChangedEvent.Type.DELETED) {
+            return;
+        }
+        List<String> names = this.jdbcTemplate.queryForList(
+                "SELECT name FROM jobs WHERE id = ?", String.class, event.getJobId());
+        if (!names.isEmpty()) {
+            this.jdbcTemplate.update(INSERT_NAME, event.getJobId(), VietnameseTextFolder.fold(names.get(0)));
+        }
+    }
+
+    private void ensureSchema() {
+        Integer table = this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.TABLES"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'job_search_names'",
+                Integer.class);
+        if (table == null || table == 0) {
+            // Tên đã fold sẵn (không dấu, chữ thường) nên so sánh nhị phân là đủ, không phụ thuộc collation của jobs
+            this.jdbcTemplate.execute("CREATE TABLE job_search_names ("
+                    + " job_id BIGINT NOT NULL PRIMARY KEY,"
+                    + " folded_name VARCHAR(255) NOT NULL)"
+                    + " DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_bin");
+        }
+    }
+
+    /**
+     * Điền tên cho các job chưa có dòng nào, duyệt theo id từng lô để không khóa cả bảng
+     */
+    public int backfill() {
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> jobs = this.jdbcTemplate.query(
+                    "SELECT j.id, j.name FROM jobs j WHERE j.id > ?"
+                            + " AND NOT EXISTS (SELECT 1 FROM job_search_names n WHERE n.job_id = j.id)"
+                            + " ORDER BY j.id LIMIT " + BACKFILL_BATCH_SIZE,
+                    (rs, rowNum) -> new Object[] { rs.getLong("id"), rs.getString("name") },
+                    lastId);
+            if (jobs.isEmpty()) {
+                return total;
+            }
+
+            List<Object[]> rows = new ArrayList<>(jobs.size());
+            for (Object[] job : jobs) {
+                rows.add(new Object[] { job[0], VietnameseTextFolder.fold((String) job[1]) });
+                lastId = (Long) job[0];
+            }
+            this.jdbcTemplate.batchUpdate(INSERT_NAME, rows);
+            total += jobs.size();
+        }
+    }
+}
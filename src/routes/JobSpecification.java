@@ -1,10 +1,21 @@
 package vn.hstore.jobhunter.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.data.jpa.domain.Specification;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.domain.JobLocationCode;
+import vn.hstore.jobhunter.domain.JobSearchName;
 import vn.hstore.jobhunter.util.constant.LevelEnum;
-import vn.hstore.jobhunter.util.constant.LocationEnum;
 
 public class JobSpecification {
 
@@ -19,20 +30,19 @@ public class JobSpecification {
                 return criteriaBuilder.conjunction();
             }
             
-            // Nếu location là "Others", tìm các job không phải ở HN, HCM, ĐN
+            // Nếu location là "Others", tìm các job có địa điểm nhưng không ở HN, HCM, ĐN
+            // (job không có địa điểm không khớp, giống NOT LIKE trên NULL trước đây)
             if (location.equalsIgnoreCase("Others")) {
                 return criteriaBuilder.and(
-                    criteriaBuilder.not(criteriaBuilder.like(criteriaBuilder.lower(root.get("location")), "%" + LocationEnum.HA_NOI.getDisplayName().toLowerCase() + "%")),
-                    criteriaBuilder.not(criteriaBuilder.like(criteriaBuilder.lower(root.get("location")), "%" + LocationEnum.HO_CHI_MINH.getDisplayName().toLowerCase() + "%")),
-                    criteriaBuilder.not(criteriaBuilder.like(criteriaBuilder.lower(root.get("location")), "%" + LocationEnum.DA_NANG.getDisplayName().toLowerCase() + "%"))
-                );
+                        criteriaBuilder.isNotNull(root.get("location")),
+                        criteriaBuilder.not(root.get("id").in(
+                                jobIdsWithCodes(query, criteriaBuilder, JobLocationCodes.MAJOR_CITY_CODES))));
             }
             
-            // Kiểm tra xem location có phải là một tỉnh thành hợp lệ không
-            LocationEnum locationEnum = LocationEnum.fromDisplayName(location);
-            if (locationEnum != null) {
-                return criteriaBuilder.like(criteriaBuilder.lower(root.get("location")), 
-                    "%" + locationEnum.getDisplayName().toLowerCase() + "%");
+            // Kiểm tra xem location có phải là một tỉnh thành hợp lệ không (không phân biệt dấu)
+            String locationCode = JobLocationCodes.resolve(location);
+            if (locationCode != null && !locationCode.equals(JobLocationCodes.OTHERS)) {
+                return root.get("id").in(jobIdsWithCodes(query, criteriaBuilder, List.of(locationCode)));
             }
             
             // Nếu không phải là tỉnh thành hợp lệ, tìm kiếm theo từ khóa
@@ -41,6 +51,43 @@ public class JobSpecification {
         };
     }
 
+    /**
+     * Id các job có một trong các mã tỉnh thành, đọc từ bảng job_location_codes (có index theo mã)
+     */
+    private static Subquery<Long> jobIdsWithCodes(CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder,
+            List<String> codes) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<JobLocationCode> code = subquery.from(JobLocationCode.class);
+        return subquery.select(code.get("jobId"))
+                .where(codes.size() == 1
+                        ? criteriaBuilder.equal(code.get("locationCode"), codes.get(0))
+                        : code.get("locationCode").in(codes));
+    }
+
+    public static Specification<Job> hasNameLike(String keyword) {
+        return (root, query, criteriaBuilder) -> {
+            if (keyword == null || keyword.trim().isEmpty()) {
+                return criteriaBuilder.conjunction();
+            }
+            // Dùng khi chỉ mục tìm kiếm chưa sẵn sàng: so khớp từng từ (đã fold) với tên đã fold
+            // trong job_search_names, nên "dong nai" khớp "Đồng Nai" với mọi collation của jobs.name
+            Set<String> terms = VietnameseTextFolder.tokenize(keyword);
+            if (terms.isEmpty()) {
+                return criteriaBuilder.conjunction();
+            }
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<JobSearchName> searchName = subquery.from(JobSearchName.class);
+            Path<String> foldedName = searchName.get("foldedName");
+            List<Predicate> predicates = new ArrayList<>();
+            for (String term : terms) {
+                predicates.add(criteriaBuilder.like(foldedName, "%" + term + "%"));
+            }
+            subquery.select(searchName.get("jobId"))
+                    .where(predicates.toArray(new Predicate[0]));
+            return root.get("id").in(subquery);
+        };
+    }
+
     public static Specification<Job> hasSalaryBetween(Double minSalary, Double maxSalary) {
         return (root, query, criteriaBuilder) -> {
             if (minSalary == null && maxSalary == null) {
@@ -0,0 +1,281 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.domain.JobLocationCode;
+import vn.hstore.jobhunter.repository.JobRepository;
+import vn.hstore.jobhunter.service.event.JobChangedEvent;
+import vn.hstore.jobhunter.service.event.JobsImportedEvent;
+import vn.hstore.jobhunter.util.JobLocationCodes;
+import vn.hstore.jobhunter.util.JobSpecification;
+import vn.hstore.jobhunter.util.constant.LevelEnum;
+
+/**
+ * Bộ đếm thống kê job (tổng, đang tuyển, theo level, theo địa điểm) giữ trong bộ nhớ.
+ * Cộng / trừ theo JobChangedEvent bằng LongAdder, định kỳ đối chiếu lại với database
+ * bằng GROUP BY để số liệu luôn hội tụ về giá trị chính xác.
+ *
+ * snapshot() trả về cùng các khóa mà GET /jobs/statistics luôn trả: totalJobs, activeJobs,
+ * jobsByLevel (LevelEnum -> số job), jobsByLocation (mã tỉnh thành và "Others" -> số job).
+ */
+@Service
+public class JobStatisticsCounter {
+
+    private final EntityManager entityManager;
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // apply() giữ read lock (nhiều luồng cùng cộng được), reconcile() giữ write lock khi đổi cells
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Cells cells = new Cells();
+    // Thay đổi nhận được trong lúc reconcile() đang đọc database, cộng vào kết quả trước khi đổi cells
+    private Cells recording;
+    private volatile boolean ready = false;
+
+    public JobStatisticsCounter(EntityManager entityManager, JobRepository jobRepository,
+            PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getTotal() {
+        return cells.total.sum();
+    }
+
+    public Map<String, Object> snapshot() {
+        Cells current = cells;
+        Map<String, Long> byLevel = new LinkedHashMap<>();
+        for (LevelEnum level : LevelEnum.values()) {
+            byLevel.put(level.name(), current.byLevel.get(level).sum());
+        }
+        Map<String, Long> byLocation = new LinkedHashMap<>();
+        for (Map.Entry<String, LongAdder> entry : current.byLocation.entrySet()) {
+            if (!JobLocationCodes.OTHERS.equals(entry.getKey())) {
+                byLocation.put(entry.getKey(), entry.getValue().sum());
+            }
+        }
+        byLocation.put(JobFacetService.OTHERS, current.others.sum());
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("totalJobs", current.total.sum());
+        statistics.put("activeJobs", current.active.sum());
+        statistics.put("jobsByLevel", byLevel);
+        statistics.put("jobsByLocation", byLocation);
+        return statistics;
+    }
+
+    // Chạy sau khi JobLocationCodeService đã backfill job_location_codes
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void init() {
+        reconcile();
+    }
+
+    @EventListener
+    @Transactional(readOnly = true)
+    public void onJobChanged(JobChangedEvent event) {
+        JobChangedEvent.JobState previous = event.getPrevious();
+        if (event.getType() != JobChangedEvent.Type.CREATED) {
+            if (previous == null) {
+                // Không biết trạng thái cũ: để lần đối chiếu kế tiếp sửa lại
+                return;
+            }
+            apply(previous, -1);
+        }
+        if (event.getType() != JobChangedEvent.Type.DELETED) {
+            this.jobRepository.findById(event.getJobId())
+                    .ifPresent(job -> apply(JobChangedEvent.JobState.of(job), 1));
+        }
+    }
+
+    @EventListener
+    @Transactional(readOnly = true)
+    public void onJobsImported(JobsImportedEvent event) {
+        for (Job job : this.jobRepository.findAllById(event.getJobIds())) {
+            apply(JobChangedEvent.JobState.of(job), 1);
+        }
+    }
+
+    /**
+     * Đọc lại toàn bộ số liệu từ database rồi thay cells. Các thay đổi đến trong lúc đang đọc được
+     * ghi song song vào recording và cộng vào kết quả mới, nên không bị mất khi đổi cells.
+     * Transaction mở bằng TransactionTemplate vì init() gọi trực tiếp (không qua proxy).
+     */
+    @Scheduled(fixedDelayString = "${jobhunter.jobs.statistics.reconcile-interval-ms:300000}",
+            initialDelayString = "${jobhunter.jobs.statistics.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        lock.writeLock().lock();
+        try {
+            recording = new Cells();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Cells fresh;
+        try {
+            fresh = this.transactionTemplate.execute(status -> load());
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                recording = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            fresh.merge(recording);
+            recording = null;
+            this.cells = fresh;
+            this.ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Cells load() {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> root = query.from(Job.class);
+        Path<LevelEnum> level = root.get("level");
+        Path<Boolean> active = root.get("active");
+        query.multiselect(level, active, cb.count(root))
+                .groupBy(level, active);
+
+        Cells fresh = new Cells();
+        for (Tuple row : this.entityManager.createQuery(query).getResultList()) {
+            fresh.addJobs(
+                    row.get(0, LevelEnum.class),
+                    Boolean.TRUE.equals(row.get(1, Boolean.class)),
+                    row.get(2, Long.class));
+        }
+
+        // Job ở nhiều tỉnh được đếm ở từng tỉnh, giống bộ lọc location
+        CriteriaQuery<Tuple> byCode = cb.createTupleQuery();
+        Root<JobLocationCode> code = byCode.from(JobLocationCode.class);
+        Path<String> locationCode = code.get("locationCode");
+        byCode.multiselect(locationCode, cb.count(code)).groupBy(locationCode);
+        for (Tuple row : this.entityManager.createQuery(byCode).getResultList()) {
+            fresh.byLocation.computeIfAbsent(row.get(0, String.class), k -> new LongAdder())
+                    .add(row.get(1, Long.class));
+        }
+
+        // "Others" đếm theo job (không theo mã) bằng đúng điều kiện của bộ lọc location=Others
+        CriteriaQuery<Long> others = cb.createQuery(Long.class);
+        Root<Job> othersRoot = others.from(Job.class);
+        others.select(cb.count(othersRoot))
+                .where(JobSpecification.hasLocation(JobFacetService.OTHERS).toPredicate(othersRoot, others, cb));
+        fresh.others.add(this.entityManager.createQuery(others).getSingleResult());
+        return fresh;
+    }
+
+    /**
+     * Chỉ đếm lại tổng số job (COUNT(*)), rẻ hơn reconcile() nên chạy thường xuyên hơn.
+     * Nếu lệch thì các ô theo level / địa điểm cũng có thể lệch: ghi log rồi đối chiếu lại toàn bộ.
+     */
+    @Scheduled(fixedDelayString = "${jobhunter.jobs.count.reconcile-interval-ms:60000}",
+            initialDelayString = "${jobhunter.jobs.count.reconcile-interval-ms:60000}")
+    public void reconcileTotal() {
+        if (!ready) {
+            return;
+        }
+        Cells current = cells;
+        long expected = this.jobRepository.count();
+        long drift = expected - current.total.sum();
+        if (drift != 0) {
+            System.out.println(">>> JOB COUNT DRIFT: counter=" + (expected - drift)
+                    + ", database=" + expected + ", drift=" + drift);
+            reconcile();
+        }
+    }
+
+    private void apply(JobChangedEvent.JobState state, long delta) {
+        lock.readLock().lock();
+        try {
+            cells.add(state.getLevel(), state.getLocationCodes(), state.isActive(), delta);
+            if (recording != null) {
+                recording.add(state.getLevel(), state.getLocationCodes(), state.isActive(), delta);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static class Cells {
+        final LongAdder total = new LongAdder();
+        final LongAdder active = new LongAdder();
+        final Map<LevelEnum, LongAdder> byLevel = new EnumMap<>(LevelEnum.class);
+        final Map<String, LongAdder> byLocation = new ConcurrentHashMap<>();
+        // Job có địa điểm nhưng không ở Hà Nội, Hồ Chí Minh, Đà Nẵng
+        final LongAdder others = new LongAdder();
+
+        Cells() {
+            // EnumMap chỉ đọc sau khi khởi tạo nên dùng chung giữa các luồng được
+            for (LevelEnum level : LevelEnum.values()) {
+                byLevel.put(level, new LongAdder());
+            }
+        }
+
+        void addJobs(LevelEnum level, boolean isActive, long delta) {
+            total.add(delta);
+            if (isActive) {
+                active.add(delta);
+            }
+            if (level != null) {
+                byLevel.get(level).add(delta);
+            }
+        }
+
+        void add(LevelEnum level, Set<String> locationCodes, boolean isActive, long delta) {
+            addJobs(level, isActive, delta);
+            for (String code : locationCodes) {
+                byLocation.computeIfAbsent(code, k -> new LongAdder()).add(delta);
+            }
+            if (JobLocationCodes.isOthers(locationCodes)) {
+                others.add(delta);
+            }
+        }
+
+        void merge(Cells other) {
+            total.add(other.total.sum());
+            active.add(other.active.sum());
+            for (Map.Entry<LevelEnum, LongAdder> entry : other.byLevel.entrySet()) {
+                byLevel.get(entry.getKey()).add(entry.getValue().sum());
+            }
+            for (Map.Entry<String, LongAdder> entry : other.byLocation.entrySet()) {
+                byLocation.computeIfAbsent(entry.getKey(), k -> new LongAdder()).add(entry.getValue().sum());
+            }
+            others.add(other.others.sum());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import vn.hstore.jobhunter.domain.Job;
+import vn.hstore.jobhunter.domain.User;
+import vn.hstore.jobhunter.domain.response.job.ResPopularJobDTO;
+import vn.hstore.jobhunter.repository.JobRepository;
+import vn.hstore.jobhunter.repository.UserRepository;
+import vn.hstore.jobhunter.service.event.JobChangedEvent;
+import vn.hstore.jobhunter.util.BoundedTtlCache;
+import vn.hstore.jobhunter.util.SecurityUtil;
+
+/**
+ * Đếm lượt xem job. Trên đường request chỉ tăng LongAdder trong bộ nhớ; lượng tăng
+ * được gom lại và ghi xuống cột jobs.view_count định kỳ bằng một batch UPDATE.
+ */
+@Service
+public class JobViewCounter {
+
+    // Admin / HR mở job để quản lý, không tính là lượt xem
+    private static final Set<String> STAFF_ROLES = Set.of("SUPER_ADMIN", "ADMIN", "HR");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final BoundedTtlCache<Integer, List<ResPopularJobDTO>> popularCache;
+    // email -> có phải admin / HR không, để không tra user ở mỗi lượt xem
+    private final BoundedTtlCache<String, Boolean> staffCache;
+
+    public JobViewCounter(JdbcTemplate jdbcTemplate, JobRepository jobRepository,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${jobhunter.jobs.views.popular-cache.ttl-ms:30000}") long popularTtlMillis,
+            @Value("${jobhunter.jobs.views.staff-cache.max-size:1000}") int staffCacheMaxSize,
+            @Value("${jobhunter.jobs.views.staff-cache.ttl-ms:600000}") long staffCacheTtlMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.popularCache = new BoundedTtlCache<>(16, popularTtlMillis);
+        this.staffCache = new BoundedTtlCache<>(staffCacheMaxSize, staffCacheTtlMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        ensureSchema();
+    }
+
+    public void increment(long jobId) {
+        pending.computeIfAbsent(jobId, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Tăng lượt xem cho request hiện tại, bỏ qua khi người xem là admin / HR đang đăng nhập
+     */
+    public void recordView(long jobId) {
+        Optional<String> login = SecurityUtil.getCurrentUserLogin();
+        if (login.isPresent() && isStaff(login.get())) {
+            return;
+        }
+        increment(jobId);
+    }
+
+    private boolean isStaff(String email) {
+        return this.staffCache.getOrLoad(email, k -> this.transactionTemplate.execute(status -> {
+            User user = this.userRepository.findByEmail(k);
+            return user != null && user.getRole() != null && STAFF_ROLES.contains(user.getRole().getName());
+        }));
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        if (event.getType() == JobChangedEvent.Type.DELETED) {
+            pending.remove(event.getJobId());
+        }
+    }
+
+    /**
+     * Ghi lượng tăng đã gom xuống database. Giữ lại các key (không xóa khỏi map) để lượt
+     * xem tăng đồng thời với lúc flush không bị mất.
+     */
+    @Scheduled(fixedDelayString = "${jobhunter.jobs.views.flush-interval-ms:10000}")
+    @PreDestroy
+    public void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                rows.add(new Object[] { delta, entry.getKey() });
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            this.jdbcTemplate.batchUpdate("UPDATE jobs SET view_count = view_count + ? WHERE id = ?", rows);
+        } catch (RuntimeException e) {
+            // Cộng trả lại để lần flush sau ghi tiếp
+            for (Object[] row : rows) {
+                pending.computeIfAbsent((Long) row[1], k -> new LongAdder()).add((Long) row[0]);
+            }
+            System.out.println(">>> JOB VIEW FLUSH FAILED: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Top-N job được xem nhiều nhất theo số đã ghi xuống database
+     * (cộng thêm lượt xem chưa flush của các job trong danh sách)
+     */
+    public List<ResPopularJobDTO> getMostViewed(int limit) {
+        // Chỉ mở transaction khi cache hết hạn
+        return this.popularCache.getOrLoad(limit,
+                k -> this.transactionTemplate.execute(status -> loadMostViewed(k)));
+    }
+
+    private List<ResPopularJobDTO> loadMostViewed(int limit) {
+        List<Object[]> rows = this.jdbcTemplate.query(
+                "SELECT id, view_count FROM jobs WHERE active = 1 ORDER BY view_count DESC LIMIT ?",
+                (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getLong(2) },
+                limit);
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+        }
+        Map<Long, Job> byId = new HashMap<>();
+        for (Job job : this.jobRepository.findAllById(ids)) {
+            byId.put(job.getId(), job);
+        }
+
+        List<ResPopularJobDTO> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Job job = byId.get((Long) row[0]);
+            if (job == null) {
+                continue;
+            }
+            LongAdder unflushed = pending.get(job.getId());
+            ResPopularJobDTO dto = new ResPopularJobDTO();
+            dto.setId(job.getId());
+            dto.setName(job.getName());
+            dto.setLocation(job.getLocation());
+            dto.setSalary(job.getSalary());
+            dto.setLevel(job.getLevel());
+            if (job.getCompany() != null) {
+                dto.setCompanyName(job.getCompany().getName());
+                dto.setCompanyLogo(job.getCompany().getLogo());
+            }
+            dto.setViewCount((Long) row[1] + (unflushed == null ? 0 : unflushed.sum()));
+            result.add(dto);
+        }
+        result.sort((a, b) -> Long.compare(b.getViewCount(), a.getViewCount()));
+        return result;
+    }
+
+    private void ensureSchema() {
+        Integer column = this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.COLUMNS"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'jobs' AND COLUMN_NAME = 'view_count'",
+                Integer.class);
+        if (column == null || column == 0) {
+            this.jdbcTemplate.execute("ALTER TABLE jobs ADD COLUMN view_count BIGINT NOT NULL DEFAULT 0");
+        }
+
+        Integer index = this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.STATISTICS"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'jobs' AND INDEX_NAME = 'idx_jobs_view_count'",
+                Integer.class);
+        if (index == null || index == 0) {
+            this.jdbcTemplate.execute("CREATE INDEX idx_jobs_view_count ON jobs (view_count)");
+        }
+    }
+}
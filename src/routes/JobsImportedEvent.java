@@ -0,0 +1,22 @@
+package vn.hstore.jobhunter.service.event;
+
+import java.util.List;
+
+/**
+ * Phát ra một lần sau khi đăng hàng loạt job (POST /jobs/bulk) thành công, thay cho một
+ * JobChangedEvent(CREATED) mỗi job: các bộ đệm chỉ bị xóa một lần và các chỉ mục nạp
+ * các job mới trong một câu truy vấn. job_location_codes và job_search_names đã được ghi cùng
+ * transaction với câu INSERT.
+ */
+public class JobsImportedEvent {
+
+    private final List<Long> jobIds;
+
+    public JobsImportedEvent(List<Long> jobIds) {
+        this.jobIds = List.copyOf(jobIds);
+    }
+
+    public List<Long> getJobIds() {
+        return jobIds;
+    }
+}
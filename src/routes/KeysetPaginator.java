@@ -0,0 +1,217 @@
+package vn.hstore.jobhunter.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import vn.hstore.jobhunter.domain.response.ResultCursorPaginationDTO;
+import vn.hstore.jobhunter.util.error.IdInvalidException;
+
+/**
+ * Phân trang keyset (seek) theo cặp (sort key, id): mỗi trang là một truy vấn
+ * WHERE (key, id) < (lastKey, lastId) ORDER BY key, id LIMIT size + 1,
+ * không dùng OFFSET và chỉ COUNT khi client yêu cầu.
+ * Sort key có thể NULL (ví dụ updatedAt): cursor ghi rõ NULL và điều kiện seek có nhánh IS NULL.
+ */
+@Component
+public class KeysetPaginator {
+
+    private static final String ID = "id";
+    private static final String SEPARATOR = "|";
+    // Tiền tố phần giá trị trong cursor: có giá trị / NULL
+    private static final String VALUE_MARKER = "V";
+    private static final String NULL_MARKER = "N";
+
+    private final EntityManager entityManager;
+
+    public KeysetPaginator(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public <T> ResultCursorPaginationDTO fetch(
+            Class<T> type,
+            Specification<T> spec,
+            Sort sort,
+            Set<String> sortableFields,
+            String cursor,
+            int pageSize,
+            LongSupplier total,
+            Function<T, ?> mapper) throws IdInvalidException {
+
+        Sort.Order order = resolveOrder(sort, sortableFields);
+        Cursor position = decode(type, cursor, order);
+
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (position != null) {
+            predicates.add(seek(cb, root, order, position));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        Path<Object> id = root.get(ID);
+        if (order.getProperty().equals(ID)) {
+            query.orderBy(order.isAscending() ? cb.asc(id) : cb.desc(id));
+        } else {
+            Path<Object> key = root.get(order.getProperty());
+            query.orderBy(
+                    order.isAscending() ? cb.asc(key) : cb.desc(key),
+                    order.isAscending() ? cb.asc(id) : cb.desc(id));
+        }
+
+        List<T> rows = this.entityManager.createQuery(query)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        ResultCursorPaginationDTO rs = new ResultCursorPaginationDTO();
+        ResultCursorPaginationDTO.Meta mt = new ResultCursorPaginationDTO.Meta();
+        mt.setPageSize(pageSize);
+        mt.setHasNext(hasNext);
+        mt.setNextCursor(hasNext ? encode(order, rows.get(rows.size() - 1)) : null);
+        // total == null: bỏ qua COUNT
+        if (total != null) {
+            mt.setTotal(total.getAsLong());
+        }
+        rs.setMeta(mt);
+        rs.setResult(rows.stream().map(mapper).collect(Collectors.toList()));
+        return rs;
+    }
+
+    /**
+     * Điều kiện "sau cursor" theo thứ tự (key, id) của order
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static <T> Predicate seek(CriteriaBuilder cb, Root<T> root, Sort.Order order, Cursor position) {
+        Expression<Long> id = root.get(ID);
+        if (order.getProperty().equals(ID)) {
+            return order.isAscending() ? cb.greaterThan(id, position.id) : cb.lessThan(id, position.id);
+        }
+
+        // NULL được coi là nhỏ nhất (giống cách MySQL sắp xếp): đứng đầu khi ASC, cuối khi DESC
+        Path<Comparable> key = root.get(order.getProperty());
+        Predicate idBeyond = order.isAscending() ? cb.greaterThan(id, position.id) : cb.lessThan(id, position.id);
+        if (position.value == null) {
+            Predicate sameNull = cb.and(cb.isNull(key), idBeyond);
+            return order.isAscending() ? cb.or(sameNull, cb.isNotNull(key)) : sameNull;
+        }
+        Predicate beyondKey = order.isAscending()
+                ? cb.greaterThan(key, position.value)
+                : cb.lessThan(key, position.value);
+        Predicate sameKey = cb.and(cb.equal(key, position.value), idBeyond);
+        return order.isAscending()
+                ? cb.or(beyondKey, sameKey)
+                : cb.or(beyondKey, sameKey, cb.isNull(key));
+    }
+
+    private Sort.Order resolveOrder(Sort sort, Set<String> sortableFields) throws IdInvalidException {
+        if (sort == null || sort.isUnsorted()) {
+            return Sort.Order.desc(ID);
+        }
+        Sort.Order order = sort.iterator().next();
+        if (!order.getProperty().equals(ID) && !sortableFields.contains(order.getProperty())) {
+            throw new IdInvalidException("Không hỗ trợ sắp xếp theo " + order.getProperty() + " khi phân trang bằng cursor");
+        }
+        return order;
+    }
+
+    private String encode(Sort.Order order, Object entity) {
+        Object id = PropertyAccessorFactory.forBeanPropertyAccess(entity).getPropertyValue(ID);
+        Object value = PropertyAccessorFactory.forBeanPropertyAccess(entity).getPropertyValue(order.getProperty());
+        String raw = order.getProperty() + SEPARATOR + order.getDirection().name() + SEPARATOR
+                + id + SEPARATOR + (value == null ? NULL_MARKER : VALUE_MARKER + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decode(Class<?> type, String cursor, Sort.Order order) throws IdInvalidException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4
+                    || !parts[0].equals(order.getProperty())
+                    || !parts[1].equals(order.getDirection().name())) {
+                throw new IdInvalidException("Cursor không khớp với tiêu chí sắp xếp hiện tại");
+            }
+            long id = Long.parseLong(parts[2]);
+            Comparable<?> value = null;
+            if (!order.getProperty().equals(ID)) {
+                if (parts[3].startsWith(VALUE_MARKER)) {
+                    Class<?> javaType = this.entityManager.getMetamodel().entity(type)
+                            .getAttribute(order.getProperty()).getJavaType();
+                    value = parse(javaType, parts[3].substring(VALUE_MARKER.length()));
+                } else if (!parts[3].equals(NULL_MARKER)) {
+                    throw new IdInvalidException("Cursor không hợp lệ");
+                }
+            }
+            return new Cursor(id, value);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IdInvalidException("Cursor không hợp lệ");
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparable parse(Class<?> javaType, String value) {
+        if (javaType == Instant.class) {
+            return Instant.parse(value);
+        }
+        if (javaType == Long.class || javaType == long.class) {
+            return Long.valueOf(value);
+        }
+        if (javaType == Integer.class || javaType == int.class) {
+            return Integer.valueOf(value);
+        }
+        if (javaType == Double.class || javaType == double.class) {
+            return Double.valueOf(value);
+        }
+        if (javaType.isEnum()) {
+            return Enum.valueOf((Class<Enum>) javaType, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("rawtypes")
+    static class Cursor {
+        final long id;
+        // null khi sort key của dòng cuối là NULL (hoặc khi sắp xếp theo id)
+        final Comparable value;
+
+        Cursor(long id, Comparable value) {
+            this.id = id;
+            this.value = value;
+        }
+    }
+}
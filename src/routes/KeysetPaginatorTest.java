@@ -0,0 +1,81 @@
+package vn.hstore.jobhunter.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class KeysetPaginatorTest {
+
+    private static final Instant LAST_KEY = Instant.parse("2024-01-01T00:00:00Z");
+
+    private CriteriaBuilder cb;
+    private Root<Object> root;
+
+    // Mỗi predicate do cb tạo ra mang tên dạng "greaterThan(id, 5)" để so sánh cả cây điều kiện
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cb = mock(CriteriaBuilder.class, invocation -> {
+            if (invocation.getMethod().getReturnType() != Predicate.class) {
+                return null;
+            }
+            String args = Arrays.stream(invocation.getArguments())
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", "));
+            return mock(Predicate.class, withSettings().name(invocation.getMethod().getName() + "(" + args + ")"));
+        });
+        root = mock(Root.class);
+        Path<Object> id = mock(Path.class, "id");
+        Path<Object> key = mock(Path.class, "key");
+        when(root.get("id")).thenReturn(id);
+        when(root.get("updatedAt")).thenReturn(key);
+    }
+
+    @Test
+    void seekOnIdOnlyComparesId() {
+        assertEquals("lessThan(id, 5)", seek(Sort.Order.desc("id"), null));
+        assertEquals("greaterThan(id, 5)", seek(Sort.Order.asc("id"), null));
+    }
+
+    @Test
+    void seekAscendingAfterValueSkipsNullKeys() {
+        assertEquals("or(greaterThan(key, " + LAST_KEY + "), and(equal(key, " + LAST_KEY + "), greaterThan(id, 5)))",
+                seek(Sort.Order.asc("updatedAt"), LAST_KEY));
+    }
+
+    @Test
+    void seekDescendingAfterValueIncludesNullKeys() {
+        assertEquals("or(lessThan(key, " + LAST_KEY + "), and(equal(key, " + LAST_KEY + "), lessThan(id, 5)),"
+                + " isNull(key))",
+                seek(Sort.Order.desc("updatedAt"), LAST_KEY));
+    }
+
+    @Test
+    void seekAscendingAfterNullContinuesIntoNonNullKeys() {
+        assertEquals("or(and(isNull(key), greaterThan(id, 5)), isNotNull(key))",
+                seek(Sort.Order.asc("updatedAt"), null));
+    }
+
+    @Test
+    void seekDescendingAfterNullStaysWithinNullKeys() {
+        assertEquals("and(isNull(key), lessThan(id, 5))", seek(Sort.Order.desc("updatedAt"), null));
+    }
+
+    private String seek(Sort.Order order, Comparable<?> lastValue) {
+        return KeysetPaginator.seek(cb, root, order, new KeysetPaginator.Cursor(5L, lastValue)).toString();
+    }
+}
@@ -0,0 +1,137 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import vn.hstore.jobhunter.service.event.JobChangedEvent;
+import vn.hstore.jobhunter.service.event.JobsImportedEvent;
+import vn.hstore.jobhunter.util.BoundedTtlCache;
+
+/**
+ * Bộ đệm cho tổng số bản ghi (Meta.total / Meta.pages) của các danh sách phân trang,
+ * khóa theo entity + dấu vân tay của bộ lọc. Ghi vào entity nào thì tăng "thế hệ"
+ * của entity đó, các giá trị cũ tự động không còn được dùng cho số chính xác.
+ *
+ * Chế độ estimated: trả ngay giá trị cũ (kể cả đã hết hạn) và đếm lại ở nền.
+ */
+@Component
+public class PaginationCountCache {
+
+    public static final String JOBS = "jobs";
+    public static final String USERS = "users";
+
+    private final BoundedTtlCache<String, CachedCount> cache;
+    private final long ttlMillis;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pagination-count-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PaginationCountCache(
+            @Value("${jobhunter.pagination.count-cache.max-size:2000}") int maxSize,
+            @Value("${jobhunter.pagination.count-cache.ttl-ms:30000}") long ttlMillis) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttlMillis);
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Dấu vân tay chuẩn của bộ lọc: chuỗi filter (@Filter) đã chuẩn hóa khoảng trắng + các tham số khác
+     */
+    public static String fingerprint(Object... parts) {
+        return Stream.of(parts)
+                .map(part -> part == null ? "" : part.toString().trim().replaceAll("\\s+", " "))
+                .collect(Collectors.joining("\u0001"));
+    }
+
+    public long count(String entity, String fingerprint, boolean estimated, LongSupplier counter) {
+        String key = entity + "|" + fingerprint;
+        long generation = generation(entity).get();
+
+        BoundedTtlCache.Entry<CachedCount> entry = this.cache.getEntry(key);
+        if (entry != null) {
+            boolean fresh = entry.getValue().generation == generation && !entry.isExpired(ttlMillis);
+            if (fresh) {
+                this.cache.recordHit();
+                return entry.getValue().total;
+            }
+            if (estimated) {
+                // Trả giá trị cũ mà không chạm database: tính là hit
+                this.cache.recordHit();
+                refreshAsync(key, entity, counter);
+                return entry.getValue().total;
+            }
+        }
+
+        this.cache.recordMiss();
+        long total = counter.getAsLong();
+        this.cache.put(key, new CachedCount(total, generation));
+        return total;
+    }
+
+    public void invalidate(String entity) {
+        generation(entity).incrementAndGet();
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        invalidate(JOBS);
+    }
+
+    @EventListener
+    public void onJobsImported(JobsImportedEvent event) {
+        invalidate(JOBS);
+    }
+
+    public Map<String, Object> stats() {
+        return this.cache.stats();
+    }
+
+    private void refreshAsync(String key, String entity, LongSupplier counter) {
+        if (!this.refreshing.add(key)) {
+            return;
+        }
+        this.refresher.execute(() -> {
+            try {
+                long generation = generation(entity).get();
+                this.cache.put(key, new CachedCount(counter.getAsLong(), generation));
+            } finally {
+                this.refreshing.remove(key);
+            }
+        });
+    }
+
+    private AtomicLong generation(String entity) {
+        return this.generations.computeIfAbsent(Objects.requireNonNull(entity), k -> new AtomicLong());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.refresher.shutdownNow();
+    }
+
+    private static class CachedCount {
+        final long total;
+        final long generation;
+
+        CachedCount(long total, long generation) {
+            this.total = total;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package vn.hstore.jobhunter.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pool riêng cho việc render PDF (tốn CPU), số luồng bằng số core và hàng đợi có giới hạn,
+ * để tải CV hàng loạt không chiếm hết luồng Tomcat của các API khác.
+ *
+ * Request phải xin suất trước bằng acquire(); hết suất (pool + hàng đợi đầy) thì
+ * controller trả 503 kèm Retry-After thay vì xếp hàng vô hạn.
+ */
+@Component
+public class PdfRenderExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore permits;
+    private final int capacity;
+    private final int retryAfterSeconds;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rendered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAccumulator maxRenderNanos = new LongAccumulator(Math::max, 0);
+
+    public PdfRenderExecutor(
+            @Value("${jobhunter.pdf.render.threads:0}") int threads,
+            @Value("${jobhunter.pdf.render.queue-capacity:0}") int queueCapacity,
+            @Value("${jobhunter.pdf.render.retry-after-seconds:5}") int retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int queueSize = queueCapacity > 0 ? queueCapacity : poolSize * 4;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread thread = new Thread(r, "pdf-render-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.capacity = poolSize + queueSize;
+        this.permits = new Semaphore(this.capacity);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Trả suất đã xin bằng tryAcquireIfIdle()
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Xin thêm suất cho việc không gấp (xuất hàng loạt): không có thì thôi, không tính là bị từ chối.
+     */
+    public boolean tryAcquireIfIdle() {
+        return permits.tryAcquire();
+    }
+
+    public Permit acquireIfIdle() {
+        return tryAcquireIfIdle() ? new Permit() : null;
+    }
+
+    /**
+     * Xin một suất render, không chờ; null nếu hết suất. Suất được trả bằng Permit.release()
+     * (gọi nhiều lần cũng chỉ trả một lần).
+     */
+    public Permit acquire() {
+        if (permits.tryAcquire()) {
+            return new Permit();
+        }
+        rejected.increment();
+        return null;
+    }
+
+    /**
+     * Chạy task trên pool render và chờ kết quả. Suất permit được trả khi task thật sự kết thúc,
+     * kể cả khi người gọi bị ngắt (timeout của request) trong lúc task còn chạy; task bị hủy
+     * hoặc bị từ chối trước khi kịp chạy thì suất được trả ngay.
+     */
+    public <T> T execute(Callable<T> task, Permit permit) throws Exception {
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                try {
+                    return task.call();
+                } finally {
+                    permit.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permit.release();
+            throw e;
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            if (claimed.compareAndSet(false, true)) {
+                permit.release();
+            }
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Đưa task vào pool render, không chờ. Mỗi task đang chạy / chờ phải ứng với một suất đang giữ.
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        return executor.submit(() -> {
+            long startedAt = System.nanoTime();
+            queueWaitNanos.add(startedAt - submittedAt);
+            try {
+                T result = task.call();
+                rendered.increment();
+                return result;
+            } catch (Exception e) {
+                failed.increment();
+                throw e;
+            } finally {
+                long elapsed = System.nanoTime() - startedAt;
+                renderNanos.add(elapsed);
+                maxRenderNanos.accumulate(elapsed);
+            }
+        });
+    }
+
+    public Map<String, Object> stats() {
+        long count = rendered.sum() + failed.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("poolSize", executor.getCorePoolSize());
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueCapacity", capacity - executor.getCorePoolSize());
+        stats.put("availablePermits", permits.availablePermits());
+        stats.put("rendered", rendered.sum());
+        stats.put("failed", failed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("avgRenderMillis", count == 0 ? 0.0 : renderNanos.sum() / 1_000_000.0 / count);
+        stats.put("maxRenderMillis", maxRenderNanos.get() / 1_000_000.0);
+        stats.put("avgQueueWaitMillis", count == 0 ? 0.0 : queueWaitNanos.sum() / 1_000_000.0 / count);
+        return stats;
+    }
+
+    /**
+     * Một suất render đang giữ
+     */
+    public final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
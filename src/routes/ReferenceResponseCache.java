@@ -0,0 +1,98 @@
+package vn.hstore.jobhunter.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Dữ liệu tham chiếu (danh sách địa điểm, gói VIP) được serialize một lần thành byte[]
+ * kèm ETag mạnh (SHA-256). Request có If-None-Match trùng ETag nhận 304 không có body.
+ * Chỉ render lại sau khi invalidate(key).
+ *
+ * Body trả về là Resource nên FormatRestResponse không bọc lại lần nữa: payload
+ * phải là RestResponse đầy đủ.
+ */
+@Component
+public class ReferenceResponseCache {
+
+    public static final String LOCATIONS = "locations";
+    public static final String PACKAGES = "packages";
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, RenderedResponse> rendered = new ConcurrentHashMap<>();
+
+    public ReferenceResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public ResponseEntity<Resource> respond(String key, String ifNoneMatch, Supplier<Object> payload) {
+        RenderedResponse response = this.rendered.computeIfAbsent(key, k -> render(payload.get()));
+
+        if (matches(ifNoneMatch, response.etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(response.etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(response.etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(response.body.length)
+                .body(new ByteArrayResource(response.body));
+    }
+
+    public void invalidate(String key) {
+        this.rendered.remove(key);
+    }
+
+    private RenderedResponse render(Object payload) {
+        try {
+            byte[] body = this.objectMapper.writeValueAsBytes(payload);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return new RenderedResponse(body, "\"" + HexFormat.of().formatHex(digest) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Không thể serialize dữ liệu tham chiếu", e);
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class RenderedResponse {
+        private final byte[] body;
+        private final String etag;
+
+        private RenderedResponse(byte[] body, String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package vn.hstore.jobhunter.domain.response.job;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ResBulkJobDTO {
+    private int total;
+    private int created;
+    private int failed;
+    private List<ItemResult> results = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemResult {
+        // vị trí của job trong request
+        private int index;
+        private boolean success;
+        private Long id;
+        private String name;
+        private String message;
+    }
+}
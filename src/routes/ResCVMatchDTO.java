@@ -0,0 +1,19 @@
+package vn.hstore.jobhunter.domain.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ResCVMatchDTO {
+    private long cvId;
+    private Long userId;
+    private String title;
+    private String fullName;
+    private String email;
+    private String phoneNumber;
+    // số kỹ năng yêu cầu của job có trong CV
+    private int matchedSkills;
+    // độ tương đồng cosine giữa kỹ năng CV và kỹ năng job (0..1)
+    private double score;
+}
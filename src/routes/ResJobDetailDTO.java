@@ -0,0 +1,50 @@
+package vn.hstore.jobhunter.domain.response.job;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import vn.hstore.jobhunter.util.constant.LevelEnum;
+
+@Getter
+@Setter
+public class ResJobDetailDTO {
+    private long id;
+    private String name;
+    private String location;
+    private double salary;
+    private int quantity;
+    private LevelEnum level;
+    private String description;
+    private Instant startDate;
+    private Instant endDate;
+    private boolean active;
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    private CompanyJob company;
+    private List<SkillJob> skills;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CompanyJob {
+        private long id;
+        private String name;
+        private String logo;
+        private String address;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SkillJob {
+        private long id;
+        private String name;
+    }
+}
@@ -0,0 +1,34 @@
+package vn.hstore.jobhunter.domain.response.job;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ResJobFacetsDTO {
+    private long total;
+    // LevelEnum -> số job
+    private Map<String, Long> levels = new LinkedHashMap<>();
+    // mã LocationEnum (và "Others") -> số job
+    private Map<String, Long> locations = new LinkedHashMap<>();
+    // SalaryBandEnum (và NOT_SPECIFIED nếu job chưa nhập lương) -> số job
+    private Map<String, Long> salaryBands = new LinkedHashMap<>();
+
+    public void add(String level, String salaryBand, long count) {
+        this.total += count;
+        if (level != null) {
+            this.levels.merge(level, count, Long::sum);
+        }
+        if (salaryBand != null) {
+            this.salaryBands.merge(salaryBand, count, Long::sum);
+        }
+    }
+
+    // Job ở nhiều tỉnh được đếm ở từng tỉnh nên không cộng vào total
+    public void addLocation(String locationCode, long count) {
+        this.locations.merge(locationCode, count, Long::sum);
+    }
+}
@@ -0,0 +1,21 @@
+package vn.hstore.jobhunter.domain.response.job;
+
+import lombok.Getter;
+import lombok.Setter;
+import vn.hstore.jobhunter.util.constant.LevelEnum;
+
+@Getter
+@Setter
+public class ResJobRecommendationDTO {
+    private long id;
+    private String name;
+    private String location;
+    private double salary;
+    private LevelEnum level;
+    private String companyName;
+    private String companyLogo;
+    // số kỹ năng của job khớp với CV
+    private int matchedSkills;
+    // độ tương đồng cosine giữa kỹ năng CV và kỹ năng job (0..1)
+    private double score;
+}
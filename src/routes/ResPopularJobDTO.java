@@ -0,0 +1,18 @@
+package vn.hstore.jobhunter.domain.response.job;
+
+import lombok.Getter;
+import lombok.Setter;
+import vn.hstore.jobhunter.util.constant.LevelEnum;
+
+@Getter
+@Setter
+public class ResPopularJobDTO {
+    private long id;
+    private String name;
+    private String location;
+    private double salary;
+    private LevelEnum level;
+    private String companyName;
+    private String companyLogo;
+    private long viewCount;
+}
@@ -0,0 +1,24 @@
+package vn.hstore.jobhunter.domain.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Kết quả phân trang dạng cursor (keyset): client gửi lại nextCursor để lấy trang tiếp theo
+ */
+@Getter
+@Setter
+public class ResultCursorPaginationDTO {
+    private Meta meta;
+    private Object result;
+
+    @Getter
+    @Setter
+    public static class Meta {
+        private int pageSize;
+        private boolean hasNext;
+        private String nextCursor;
+        // null nếu client không yêu cầu withTotal=true
+        private Long total;
+    }
+}
@@ -0,0 +1,43 @@
+package vn.hstore.jobhunter.util.constant;
+
+/**
+ * Các khoảng lương (VND) hiển thị ở sidebar trang tìm việc, [min, max)
+ */
+public enum SalaryBandEnum {
+    UNDER_10M("Dưới 10 triệu", 0, 10_000_000),
+    FROM_10M_TO_20M("10 - 20 triệu", 10_000_000, 20_000_000),
+    FROM_20M_TO_30M("20 - 30 triệu", 20_000_000, 30_000_000),
+    FROM_30M_TO_50M("30 - 50 triệu", 30_000_000, 50_000_000),
+    OVER_50M("Trên 50 triệu", 50_000_000, Double.MAX_VALUE);
+
+    private final String displayName;
+    private final double min;
+    private final double max;
+
+    SalaryBandEnum(String displayName, double min, double max) {
+        this.displayName = displayName;
+        this.min = min;
+        this.max = max;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public static SalaryBandEnum of(double salary) {
+        for (SalaryBandEnum band : values()) {
+            if (salary < band.max) {
+                return band;
+            }
+        }
+        return OVER_50M;
+    }
+}
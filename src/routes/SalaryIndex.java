@@ -0,0 +1,310 @@
+package vn.hstore.jobhunter.util;
+
+import java.util.Arrays;
+
+/**
+ * Chỉ mục lương: mảng double[] đã sắp xếp đi cặp với long[] id job, cùng một bản sắp theo id.
+ * Lọc khoảng lương bằng tìm nhị phân, trả về mảng id tăng dần để giao với các posting list
+ * khác mà không phải sắp xếp lại cả khoảng. Không boxing.
+ *
+ * Ghi theo kiểu copy-on-write: người đọc luôn thấy một snapshot nhất quán, không cần khóa.
+ * put / remove chỉ ghi vào một danh sách thay đổi nhỏ (sắp theo id); khi danh sách đầy mới
+ * trộn vào mảng chính, nên mỗi lần ghi không phải copy cả chỉ mục.
+ */
+public final class SalaryIndex {
+
+    // Số thay đổi gom lại trước khi trộn vào mảng chính (mỗi lần trộn O(N log MAX_PENDING))
+    private static final int MAX_PENDING = 256;
+    // Lương của id đã bị xóa trong danh sách thay đổi
+    private static final double REMOVED = Double.NaN;
+    private static final double[] NO_SALARIES = new double[0];
+
+    private volatile State state = new State(Base.EMPTY, SortedLongs.EMPTY, NO_SALARIES);
+
+    /**
+     * Dựng lại toàn bộ chỉ mục, dùng khi nạp dữ liệu lúc khởi động. ids không trùng lặp.
+     */
+    public synchronized void rebuild(long[] ids, double[] salaries, int size) {
+        long[] idsBySalary = Arrays.copyOf(ids, size);
+        double[] sortedSalaries = Arrays.copyOf(salaries, size);
+        sort(sortedSalaries, idsBySalary, 0, size - 1);
+
+        long[] sortedIds = Arrays.copyOf(ids, size);
+        Arrays.sort(sortedIds);
+        double[] salaryById = new double[size];
+        for (int i = 0; i < size; i++) {
+            salaryById[Arrays.binarySearch(sortedIds, ids[i])] = salaries[i];
+        }
+        this.state = new State(new Base(sortedSalaries, idsBySalary, sortedIds, salaryById),
+                SortedLongs.EMPTY, NO_SALARIES);
+    }
+
+    public synchronized void put(long id, double salary) {
+        record(id, salary);
+    }
+
+    public synchronized void remove(long id) {
+        State current = this.state;
+        if (current.base.salaryOf(id) == null && Arrays.binarySearch(current.pendingIds, id) < 0) {
+            return;
+        }
+        record(id, REMOVED);
+    }
+
+    /**
+     * Các id trong candidates (tăng dần) có lương trong [minSalary, maxSalary] (null = không giới hạn),
+     * kết quả tăng dần
+     */
+    public long[] filter(long[] candidates, Double minSalary, Double maxSalary) {
+        State current = this.state;
+        long[] result = current.base.filter(candidates, minSalary, maxSalary);
+        if (current.pendingIds.length == 0) {
+            return result;
+        }
+
+        // Giá trị trong danh sách thay đổi thay cho giá trị trong mảng chính
+        result = SortedLongs.difference(result, current.pendingIds);
+        long[] changed = new long[current.pendingIds.length];
+        int n = 0;
+        for (int i = 0; i < current.pendingIds.length; i++) {
+            long id = current.pendingIds[i];
+            double salary = current.pendingSalaries[i];
+            if (!Double.isNaN(salary) && inRange(salary, minSalary, maxSalary)
+                    && SortedLongs.contains(candidates, id)) {
+                changed[n++] = id;
+            }
+        }
+        return SortedLongs.union(result, Arrays.copyOf(changed, n));
+    }
+
+    private void record(long id, double salary) {
+        State current = this.state;
+        long[] pendingIds = current.pendingIds;
+        double[] pendingSalaries = current.pendingSalaries;
+        int pos = Arrays.binarySearch(pendingIds, id);
+        if (pos >= 0) {
+            pendingSalaries = pendingSalaries.clone();
+            pendingSalaries[pos] = salary;
+        } else {
+            int insertAt = -pos - 1;
+            int size = pendingIds.length;
+            long[] ids = new long[size + 1];
+            double[] salaries = new double[size + 1];
+            System.arraycopy(pendingIds, 0, ids, 0, insertAt);
+            System.arraycopy(pendingSalaries, 0, salaries, 0, insertAt);
+            ids[insertAt] = id;
+            salaries[insertAt] = salary;
+            System.arraycopy(pendingIds, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(pendingSalaries, insertAt, salaries, insertAt + 1, size - insertAt);
+            pendingIds = ids;
+            pendingSalaries = salaries;
+        }
+
+        if (pendingIds.length > MAX_PENDING) {
+            this.state = new State(current.base.merge(pendingIds, pendingSalaries), SortedLongs.EMPTY, NO_SALARIES);
+        } else {
+            this.state = new State(current.base, pendingIds, pendingSalaries);
+        }
+    }
+
+    private static boolean inRange(double salary, Double minSalary, Double maxSalary) {
+        return (minSalary == null || salary >= minSalary) && (maxSalary == null || salary <= maxSalary);
+    }
+
+    // vị trí đầu tiên có salary >= value
+    private static int lowerBound(double[] salaries, double value) {
+        int low = 0, high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // vị trí đầu tiên có salary > value
+    private static int upperBound(double[] salaries, double value) {
+        int low = 0, high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // quicksort trên hai mảng song song theo salary
+    private static void sort(double[] salaries, long[] ids, int low, int high) {
+        while (low < high) {
+            double pivot = salaries[(low + high) >>> 1];
+            int i = low, j = high;
+            while (i <= j) {
+                while (salaries[i] < pivot) {
+                    i++;
+                }
+                while (salaries[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double s = salaries[i];
+                    salaries[i] = salaries[j];
+                    salaries[j] = s;
+                    long id = ids[i];
+                    ids[i] = ids[j];
+                    ids[j] = id;
+                    i++;
+                    j--;
+                }
+            }
+            // đệ quy nhánh nhỏ, lặp nhánh lớn để giới hạn độ sâu stack
+            if (j - low < high - i) {
+                sort(salaries, ids, low, j);
+                low = i;
+            } else {
+                sort(salaries, ids, i, high);
+                high = j;
+            }
+        }
+    }
+
+    /**
+     * Mảng chính (bất biến): cùng dữ liệu sắp theo lương và theo id
+     */
+    private static final class Base {
+        static final Base EMPTY = new Base(NO_SALARIES, SortedLongs.EMPTY, SortedLongs.EMPTY, NO_SALARIES);
+
+        final double[] salaries;
+        final long[] idsBySalary;
+        final long[] ids;
+        final double[] salaryById;
+
+        Base(double[] salaries, long[] idsBySalary, long[] ids, double[] salaryById) {
+            this.salaries = salaries;
+            this.idsBySalary = idsBySalary;
+            this.ids = ids;
+            this.salaryById = salaryById;
+        }
+
+        Double salaryOf(long id) {
+            int pos = Arrays.binarySearch(ids, id);
+            return pos >= 0 ? salaryById[pos] : null;
+        }
+
+        long[] filter(long[] candidates, Double minSalary, Double maxSalary) {
+            int from = minSalary == null ? 0 : lowerBound(salaries, minSalary);
+            int to = maxSalary == null ? salaries.length : upperBound(salaries, maxSalary);
+            int matched = to - from;
+            if (matched <= 0) {
+                return SortedLongs.EMPTY;
+            }
+
+            // Ít ứng viên hơn số id trong khoảng: tra lương từng ứng viên, thứ tự tăng dần giữ nguyên
+            if (candidates.length < matched) {
+                long[] out = new long[candidates.length];
+                int n = 0;
+                for (long id : candidates) {
+                    int pos = Arrays.binarySearch(ids, id);
+                    if (pos >= 0 && inRange(salaryById[pos], minSalary, maxSalary)) {
+                        out[n++] = id;
+                    }
+                }
+                return Arrays.copyOf(out, n);
+            }
+
+            long[] matchedIds;
+            if (matched == ids.length) {
+                matchedIds = ids;
+            } else if (matched < ids.length / 8) {
+                // Khoảng hẹp: chỉ sắp xếp phần id nằm trong khoảng
+                matchedIds = Arrays.copyOfRange(idsBySalary, from, to);
+                Arrays.sort(matchedIds);
+            } else {
+                // Khoảng rộng: duyệt mảng sắp theo id một lần, không sắp xếp
+                matchedIds = new long[matched];
+                int n = 0;
+                for (int i = 0; i < ids.length; i++) {
+                    if (inRange(salaryById[i], minSalary, maxSalary)) {
+                        matchedIds[n++] = ids[i];
+                    }
+                }
+            }
+            return SortedLongs.intersect(candidates, matchedIds);
+        }
+
+        /**
+         * Mảng chính mới sau khi áp dụng danh sách thay đổi (sắp theo id, NaN = đã xóa)
+         */
+        Base merge(long[] pendingIds, double[] pendingSalaries) {
+            // Theo id: trộn hai mảng đã sắp xếp, giá trị mới thắng
+            long[] mergedIds = new long[ids.length + pendingIds.length];
+            double[] mergedSalaries = new double[mergedIds.length];
+            int i = 0, j = 0, n = 0;
+            while (i < ids.length || j < pendingIds.length) {
+                if (j >= pendingIds.length || (i < ids.length && ids[i] < pendingIds[j])) {
+                    mergedIds[n] = ids[i];
+                    mergedSalaries[n++] = salaryById[i++];
+                } else {
+                    if (i < ids.length && ids[i] == pendingIds[j]) {
+                        i++;
+                    }
+                    if (!Double.isNaN(pendingSalaries[j])) {
+                        mergedIds[n] = pendingIds[j];
+                        mergedSalaries[n++] = pendingSalaries[j];
+                    }
+                    j++;
+                }
+            }
+            mergedIds = Arrays.copyOf(mergedIds, n);
+            mergedSalaries = Arrays.copyOf(mergedSalaries, n);
+
+            // Theo lương: bỏ các id có thay đổi, sắp các giá trị mới rồi trộn
+            long[] addedIds = new long[pendingIds.length];
+            double[] addedSalaries = new double[pendingIds.length];
+            int added = 0;
+            for (int k = 0; k < pendingIds.length; k++) {
+                if (!Double.isNaN(pendingSalaries[k])) {
+                    addedIds[added] = pendingIds[k];
+                    addedSalaries[added++] = pendingSalaries[k];
+                }
+            }
+            sort(addedSalaries, addedIds, 0, added - 1);
+
+            double[] bySalary = new double[n];
+            long[] idsBySalaryMerged = new long[n];
+            int a = 0, b = 0, m = 0;
+            while (a < idsBySalary.length || b < added) {
+                if (a < idsBySalary.length && Arrays.binarySearch(pendingIds, idsBySalary[a]) >= 0) {
+                    a++;
+                } else if (b >= added || (a < idsBySalary.length && salaries[a] <= addedSalaries[b])) {
+                    bySalary[m] = salaries[a];
+                    idsBySalaryMerged[m++] = idsBySalary[a++];
+                } else {
+                    bySalary[m] = addedSalaries[b];
+                    idsBySalaryMerged[m++] = addedIds[b++];
+                }
+            }
+            return new Base(bySalary, idsBySalaryMerged, mergedIds, mergedSalaries);
+        }
+    }
+
+    /**
+     * Snapshot người đọc thấy: mảng chính + danh sách thay đổi chưa trộn
+     */
+    private static final class State {
+        final Base base;
+        final long[] pendingIds;
+        final double[] pendingSalaries;
+
+        State(Base base, long[] pendingIds, double[] pendingSalaries) {
+            this.base = base;
+            this.pendingIds = pendingIds;
+            this.pendingSalaries = pendingSalaries;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package vn.hstore.jobhunter.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+    private static final long[] ALL = { 1, 2, 3, 4, 5, 6 };
+
+    private static SalaryIndex sample() {
+        SalaryIndex index = new SalaryIndex();
+        // id không theo thứ tự lương, có lương trùng nhau
+        index.rebuild(new long[] { 4, 1, 6, 2, 5, 3 }, new double[] { 30, 10, 20, 20, 50, 40 }, 6);
+        return index;
+    }
+
+    @Test
+    void filterBoundsAreInclusiveAndOptional() {
+        SalaryIndex index = sample();
+        assertArrayEquals(new long[] { 2, 4, 6 }, index.filter(ALL, 20.0, 30.0));
+        assertArrayEquals(new long[] { 3, 5 }, index.filter(ALL, 40.0, null));
+        assertArrayEquals(new long[] { 1, 2, 6 }, index.filter(ALL, null, 20.0));
+        assertArrayEquals(ALL, index.filter(ALL, null, null));
+        assertArrayEquals(new long[0], index.filter(ALL, 31.0, 39.0));
+        assertArrayEquals(new long[0], index.filter(ALL, 40.0, 30.0));
+    }
+
+    @Test
+    void filterKeepsOnlyCandidates() {
+        SalaryIndex index = sample();
+        assertArrayEquals(new long[] { 6 }, index.filter(new long[] { 1, 6, 99 }, 15.0, null));
+        assertArrayEquals(new long[0], index.filter(SortedLongs.EMPTY, null, null));
+    }
+
+    @Test
+    void pendingChangesOverrideBaseValues() {
+        SalaryIndex index = sample();
+        index.put(1, 45);
+        index.put(7, 25);
+        index.remove(5);
+        index.remove(99);
+
+        long[] candidates = { 1, 2, 3, 4, 5, 6, 7 };
+        assertArrayEquals(new long[] { 1, 3 }, index.filter(candidates, 40.0, null));
+        assertArrayEquals(new long[] { 2, 4, 6, 7 }, index.filter(candidates, 20.0, 30.0));
+
+        index.put(7, 60);
+        assertArrayEquals(new long[] { 7 }, index.filter(candidates, 55.0, null));
+    }
+
+    @Test
+    void matchesReferenceAcrossMerges() {
+        Random random = new Random(7);
+        SalaryIndex index = new SalaryIndex();
+        TreeMap<Long, Double> expected = new TreeMap<>();
+        int size = 500;
+        long[] ids = new long[size];
+        double[] salaries = new double[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i * 3L + 1;
+            salaries[i] = random.nextInt(60) * 1_000_000.0;
+            expected.put(ids[i], salaries[i]);
+        }
+        index.rebuild(ids, salaries, size);
+
+        // Đủ nhiều thay đổi để danh sách chờ được trộn vào mảng chính nhiều lần
+        for (int op = 0; op < 3000; op++) {
+            long id = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                double salary = random.nextInt(60) * 1_000_000.0;
+                index.put(id, salary);
+                expected.put(id, salary);
+            }
+            if (op % 50 == 0) {
+                Double min = random.nextBoolean() ? null : random.nextInt(60) * 1_000_000.0;
+                Double max = random.nextBoolean() ? null : random.nextInt(60) * 1_000_000.0;
+                long[] candidates = randomCandidates(random);
+                assertArrayEquals(reference(expected, candidates, min, max), index.filter(candidates, min, max));
+            }
+        }
+    }
+
+    private static long[] randomCandidates(Random random) {
+        TreeSet<Long> candidates = new TreeSet<>();
+        int count = random.nextInt(4) == 0 ? 2000 : random.nextInt(40);
+        for (int i = 0; i < count; i++) {
+            candidates.add((long) random.nextInt(2000));
+        }
+        return candidates.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long[] reference(Map<Long, Double> salaries, long[] candidates, Double min, Double max) {
+        List<Long> matched = new ArrayList<>();
+        for (long id : candidates) {
+            Double salary = salaries.get(id);
+            if (salary != null && (min == null || salary >= min) && (max == null || salary <= max)) {
+                matched.add(id);
+            }
+        }
+        return matched.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,111 @@
+package vn.hstore.jobhunter.util;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Ánh xạ tên kỹ năng (đã bỏ dấu, chữ thường, gộp khoảng trắng) sang id số nguyên liên tục,
+ * để so khớp CV và job bằng mảng int thay vì so sánh chuỗi.
+ */
+public class SkillTermDictionary {
+
+    // CV.skills lưu mỗi kỹ năng một dòng, người dùng cũng hay ngăn cách bằng dấu phẩy
+    private static final Pattern SKILL_SEPARATOR = Pattern.compile("[\\n\\r,;|]+");
+    private static final Pattern BULLET = Pattern.compile("^[\\s\\-*•+·]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    // Ghi sau khi id đã nằm trong ids: ai đọc size() = n đều tra cứu được mọi id < n
+    private volatile int size = 0;
+
+    public static String normalize(String skill) {
+        if (skill == null) {
+            return "";
+        }
+        String value = BULLET.matcher(skill).replaceFirst("");
+        return WHITESPACE.matcher(VietnameseTextFolder.fold(value)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Lấy id của kỹ năng, cấp id mới nếu chưa có. Trả về -1 nếu tên rỗng.
+     */
+    public int idOf(String skill) {
+        String term = normalize(skill);
+        if (term.isEmpty()) {
+            return -1;
+        }
+        Integer id = ids.get(term);
+        return id != null ? id : assign(term);
+    }
+
+    // Cấp id mới hiếm khi xảy ra (chỉ khi job có kỹ năng mới) nên khóa cả từ điển
+    private synchronized int assign(String term) {
+        Integer id = ids.get(term);
+        if (id == null) {
+            id = size;
+            ids.put(term, id);
+            size = id + 1;
+        }
+        return id;
+    }
+
+    /**
+     * Số id đã cấp; id mới luôn lớn hơn hoặc bằng giá trị này
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tách văn bản kỹ năng của CV thành mảng id đã sắp xếp, không trùng lặp.
+     * Kỹ năng chưa có trong từ điển bị bỏ qua (không job nào yêu cầu).
+     */
+    public int[] lookupAll(String skillsText) {
+        return lookupAll(parseSkills(skillsText));
+    }
+
+    public int[] lookupAll(Set<String> normalizedSkills) {
+        int[] result = new int[normalizedSkills.size()];
+        int n = 0;
+        for (String term : normalizedSkills) {
+            Integer id = ids.get(term);
+            if (id != null) {
+                result[n++] = id;
+            }
+        }
+        return distinctSorted(result, n);
+    }
+
+    /**
+     * Tách văn bản kỹ năng (mỗi dòng / dấu phẩy một kỹ năng) thành tập tên đã chuẩn hóa
+     */
+    public static Set<String> parseSkills(String skillsText) {
+        Set<String> skills = new LinkedHashSet<>();
+        if (skillsText == null || skillsText.isEmpty()) {
+            return skills;
+        }
+        for (String part : SKILL_SEPARATOR.split(skillsText)) {
+            String term = normalize(part);
+            if (!term.isEmpty()) {
+                skills.add(term);
+            }
+        }
+        return skills;
+    }
+
+    public static int[] distinctSorted(int[] values, int length) {
+        int[] sorted = Arrays.copyOf(values, length);
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (n == 0 || sorted[n - 1] != sorted[i]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+}
@@ -0,0 +1,54 @@
+package vn.hstore.jobhunter.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class SkillTermDictionaryTest {
+
+    @Test
+    void normalizeFoldsDiacriticsBulletsAndWhitespace() {
+        assertEquals("quan ly du an", SkillTermDictionary.normalize("  - Quản   lý dự án "));
+        assertEquals("java spring", SkillTermDictionary.normalize("• Java\tSpring"));
+        assertEquals("", SkillTermDictionary.normalize(null));
+    }
+
+    @Test
+    void parseSkillsSplitsOnLinesAndSeparators() {
+        assertEquals(List.of("java", "spring boot", "mysql", "docker"),
+                List.copyOf(SkillTermDictionary.parseSkills("Java, Spring Boot\n- MySQL;java\r\n|Docker")));
+        assertEquals(Set.of(), SkillTermDictionary.parseSkills(null));
+    }
+
+    @Test
+    void idOfAssignsStableSequentialIds() {
+        SkillTermDictionary dictionary = new SkillTermDictionary();
+        assertEquals(0, dictionary.idOf("Java"));
+        assertEquals(1, dictionary.idOf("MySQL"));
+        assertEquals(0, dictionary.idOf(" java "));
+        assertEquals(-1, dictionary.idOf("  "));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    void lookupAllSkipsUnknownSkillsWithoutGrowingTheDictionary() {
+        SkillTermDictionary dictionary = new SkillTermDictionary();
+        int java = dictionary.idOf("Java");
+        int docker = dictionary.idOf("Docker");
+
+        assertArrayEquals(new int[] { java, docker }, dictionary.lookupAll("Docker\nCOBOL\njava\nJava"));
+        assertArrayEquals(new int[0], dictionary.lookupAll(""));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    void distinctSortedUsesOnlyTheGivenPrefix() {
+        assertArrayEquals(new int[] { 1, 3, 5 },
+                SkillTermDictionary.distinctSorted(new int[] { 5, 1, 3, 1, 9 }, 4));
+        assertArrayEquals(new int[0], SkillTermDictionary.distinctSorted(new int[] { 2 }, 0));
+    }
+}
@@ -0,0 +1,162 @@
+package vn.hstore.jobhunter.util;
+
+import java.util.Arrays;
+
+/**
+ * Các thao tác trên mảng long[] đã sắp xếp tăng dần, không trùng lặp.
+ * Dùng làm posting list cho các chỉ mục trong bộ nhớ (không boxing).
+ */
+public final class SortedLongs {
+
+    public static final long[] EMPTY = new long[0];
+
+    private SortedLongs() {
+    }
+
+    public static boolean contains(long[] sorted, long value) {
+        return Arrays.binarySearch(sorted, value) >= 0;
+    }
+
+    /**
+     * Sắp xếp length phần tử đầu của values (thay đổi trực tiếp mảng) và bỏ trùng lặp
+     */
+    public static long[] sortedDistinct(long[] values, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(values, 0, length);
+        int n = 1;
+        for (int i = 1; i < length; i++) {
+            if (values[i] != values[n - 1]) {
+                values[n++] = values[i];
+            }
+        }
+        return n == values.length ? values : Arrays.copyOf(values, n);
+    }
+
+    /**
+     * Trả về mảng mới đã chèn value, hoặc chính mảng cũ nếu value đã tồn tại
+     */
+    public static long[] insert(long[] sorted, long value) {
+        int pos = Arrays.binarySearch(sorted, value);
+        if (pos >= 0) {
+            return sorted;
+        }
+        int insertAt = -pos - 1;
+        long[] result = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, insertAt);
+        result[insertAt] = value;
+        System.arraycopy(sorted, insertAt, result, insertAt + 1, sorted.length - insertAt);
+        return result;
+    }
+
+    /**
+     * Trả về mảng mới đã bỏ value, hoặc chính mảng cũ nếu value không tồn tại
+     */
+    public static long[] remove(long[] sorted, long value) {
+        int pos = Arrays.binarySearch(sorted, value);
+        if (pos < 0) {
+            return sorted;
+        }
+        if (sorted.length == 1) {
+            return EMPTY;
+        }
+        long[] result = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, pos);
+        System.arraycopy(sorted, pos + 1, result, pos, sorted.length - pos - 1);
+        return result;
+    }
+
+    public static long[] intersect(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return EMPTY;
+        }
+        // Khi một bên nhỏ hơn nhiều thì tìm nhị phân trên bên lớn
+        if (a.length * 16 < b.length || b.length * 16 < a.length) {
+            long[] small = a.length < b.length ? a : b;
+            long[] large = a.length < b.length ? b : a;
+            long[] out = new long[small.length];
+            int n = 0;
+            int from = 0;
+            for (long value : small) {
+                int pos = Arrays.binarySearch(large, from, large.length, value);
+                if (pos >= 0) {
+                    out[n++] = value;
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+                if (from >= large.length) {
+                    break;
+                }
+            }
+            return n == out.length ? out : Arrays.copyOf(out, n);
+        }
+
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    public static long[] union(long[] a, long[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        long[] out = new long[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                out[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        while (i < a.length) {
+            out[n++] = a[i++];
+        }
+        while (j < b.length) {
+            out[n++] = b[j++];
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Các phần tử thuộc a nhưng không thuộc b
+     */
+    public static long[] difference(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return a;
+        }
+        long[] out = new long[a.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length) {
+            if (j >= b.length || a[i] < b[j]) {
+                out[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+}
@@ -0,0 +1,97 @@
+package vn.hstore.jobhunter.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class SortedLongsTest {
+
+    @Test
+    void sortedDistinctSortsAndDropsDuplicates() {
+        long[] values = { 5, 1, 3, 5, 1, 9, 0 };
+        assertArrayEquals(new long[] { 1, 3, 5 }, SortedLongs.sortedDistinct(values, 4));
+        assertSame(SortedLongs.EMPTY, SortedLongs.sortedDistinct(new long[3], 0));
+    }
+
+    @Test
+    void insertAndRemoveReturnSameArrayWhenNothingChanges() {
+        long[] sorted = { 2, 4, 6 };
+        assertSame(sorted, SortedLongs.insert(sorted, 4));
+        assertSame(sorted, SortedLongs.remove(sorted, 5));
+        assertArrayEquals(new long[] { 1, 2, 4, 5, 6, 7 },
+                SortedLongs.insert(SortedLongs.insert(SortedLongs.insert(sorted, 5), 1), 7));
+        assertArrayEquals(new long[] { 4, 6 }, SortedLongs.remove(sorted, 2));
+        assertSame(SortedLongs.EMPTY, SortedLongs.remove(new long[] { 3 }, 3));
+    }
+
+    @Test
+    void containsUsesBinarySearch() {
+        long[] sorted = { 1, 10, 100 };
+        assertTrue(SortedLongs.contains(sorted, 10));
+        assertFalse(SortedLongs.contains(sorted, 11));
+        assertFalse(SortedLongs.contains(SortedLongs.EMPTY, 1));
+    }
+
+    @Test
+    void setOperationsHandleEmptyInputs() {
+        long[] a = { 1, 2, 3 };
+        assertArrayEquals(SortedLongs.EMPTY, SortedLongs.intersect(a, SortedLongs.EMPTY));
+        assertSame(a, SortedLongs.union(a, SortedLongs.EMPTY));
+        assertSame(a, SortedLongs.union(SortedLongs.EMPTY, a));
+        assertSame(a, SortedLongs.difference(a, SortedLongs.EMPTY));
+        assertArrayEquals(SortedLongs.EMPTY, SortedLongs.difference(SortedLongs.EMPTY, a));
+    }
+
+    @Test
+    void intersectUsesBinarySearchWhenOneSideIsMuchSmaller() {
+        long[] large = new long[1000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = i * 2L;
+        }
+        assertArrayEquals(new long[] { 0, 998, 1998 },
+                SortedLongs.intersect(new long[] { 0, 1, 998, 999, 1998, 5000 }, large));
+        assertArrayEquals(new long[] { 0, 998, 1998 },
+                SortedLongs.intersect(large, new long[] { 0, 1, 998, 999, 1998, 5000 }));
+    }
+
+    @Test
+    void setOperationsMatchTreeSet() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            TreeSet<Long> left = randomSet(random, random.nextInt(3) == 0 ? 2 : 100);
+            TreeSet<Long> right = randomSet(random, 100);
+            long[] a = toArray(left);
+            long[] b = toArray(right);
+
+            TreeSet<Long> intersection = new TreeSet<>(left);
+            intersection.retainAll(right);
+            TreeSet<Long> union = new TreeSet<>(left);
+            union.addAll(right);
+            TreeSet<Long> difference = new TreeSet<>(left);
+            difference.removeAll(right);
+
+            assertArrayEquals(toArray(intersection), SortedLongs.intersect(a, b));
+            assertArrayEquals(toArray(union), SortedLongs.union(a, b));
+            assertArrayEquals(toArray(difference), SortedLongs.difference(a, b));
+        }
+    }
+
+    private static TreeSet<Long> randomSet(Random random, int maxSize) {
+        TreeSet<Long> set = new TreeSet<>();
+        int size = random.nextInt(maxSize + 1);
+        for (int i = 0; i < size; i++) {
+            set.add((long) random.nextInt(300));
+        }
+        return set;
+    }
+
+    private static long[] toArray(TreeSet<Long> set) {
+        return set.stream().mapToLong(Long::longValue).toArray();
+    }
+}
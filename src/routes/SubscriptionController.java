@@ -4,8 +4,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -26,6 +29,7 @@ import vn.hstore.jobhunter.domain.request.PurchaseSubscriptionRequest;
 import vn.hstore.jobhunter.domain.response.RestResponse;
 import vn.hstore.jobhunter.domain.response.ResultPaginationDTO;
 import vn.hstore.jobhunter.service.EmployerSubscriptionService;
+import vn.hstore.jobhunter.service.ReferenceResponseCache;
 import vn.hstore.jobhunter.service.SubscriptionPackageService;
 import vn.hstore.jobhunter.util.annotation.ApiMessage;
 
@@ -35,28 +39,33 @@ public class SubscriptionController {
 
     private final SubscriptionPackageService subscriptionPackageService;
     private final EmployerSubscriptionService employerSubscriptionService;
+    private final ReferenceResponseCache referenceResponseCache;
 
     public SubscriptionController(
             SubscriptionPackageService subscriptionPackageService,
-            EmployerSubscriptionService employerSubscriptionService) {
+            EmployerSubscriptionService employerSubscriptionService,
+            ReferenceResponseCache referenceResponseCache) {
         this.subscriptionPackageService = subscriptionPackageService;
         this.employerSubscriptionService = employerSubscriptionService;
+        this.referenceResponseCache = referenceResponseCache;
     }
 
     // ========= SUBSCRIPTION PACKAGES MANAGEMENT =========
     
     @GetMapping("/packages")
     @ApiMessage("Get all active subscription packages")
-    public ResponseEntity<RestResponse<List<SubscriptionPackage>>> getAllActivePackages() {
-        List<SubscriptionPackage> packages = subscriptionPackageService.findAllActivePackages();
-        
-        RestResponse<List<SubscriptionPackage>> response = new RestResponse<>();
-        response.setStatusCode(200);
-        response.setError(null);
-        response.setMessage("Lấy danh sách gói VIP thành công");
-        response.setData(packages);
-        
-        return ResponseEntity.ok(response);
+    public ResponseEntity<Resource> getAllActivePackages(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceResponseCache.respond(ReferenceResponseCache.PACKAGES, ifNoneMatch, () -> {
+            List<SubscriptionPackage> packages = subscriptionPackageService.findAllActivePackages();
+
+            RestResponse<List<SubscriptionPackage>> response = new RestResponse<>();
+            response.setStatusCode(200);
+            response.setError(null);
+            response.setMessage("Lấy danh sách gói VIP thành công");
+            response.setData(packages);
+            return response;
+        });
     }
     
     @GetMapping("/packages/all")
@@ -98,6 +107,7 @@ public class SubscriptionController {
             @Valid @RequestBody SubscriptionPackage subscriptionPackage) {
         
         SubscriptionPackage newPackage = subscriptionPackageService.createPackage(subscriptionPackage);
+        referenceResponseCache.invalidate(ReferenceResponseCache.PACKAGES);
         
         RestResponse<SubscriptionPackage> response = new RestResponse<>();
         response.setStatusCode(201);
@@ -118,6 +128,7 @@ public class SubscriptionController {
         subscriptionPackage.setId(id);
         
         SubscriptionPackage updatedPackage = subscriptionPackageService.updatePackage(subscriptionPackage);
+        referenceResponseCache.invalidate(ReferenceResponseCache.PACKAGES);
         
         if (updatedPackage == null) {
             RestResponse<SubscriptionPackage> errorResponse = new RestResponse<>();
@@ -154,6 +165,7 @@ public class SubscriptionController {
         }
         
         subscriptionPackageService.deletePackage(id);
+        referenceResponseCache.invalidate(ReferenceResponseCache.PACKAGES);
         
         RestResponse<Void> response = new RestResponse<>();
         response.setStatusCode(200);
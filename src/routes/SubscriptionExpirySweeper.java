@@ -0,0 +1,110 @@
+package vn.hstore.jobhunter.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Định kỳ chuyển các gói đăng ký đã hết hạn (endDate <= now) từ ACTIVE sang EXPIRED,
+ * mỗi lô một transaction riêng để không giữ khóa lâu. Nhờ vậy tập ACTIVE luôn nhỏ và
+ * các truy vấn trên đường nóng (kiểm tra quota, trạng thái) đi qua index (user_id, status).
+ */
+@Service
+public class SubscriptionExpirySweeper {
+
+    public static final String ACTIVE = "ACTIVE";
+    public static final String EXPIRED = "EXPIRED";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final String tableName;
+
+    public SubscriptionExpirySweeper(EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            JdbcTemplate jdbcTemplate,
+            @Value("${jobhunter.subscriptions.expiry-sweep.batch-size:500}") int batchSize,
+            @Value("${jobhunter.subscriptions.table:employer_subscriptions}") String tableName) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.tableName = tableName;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        ensureIndex();
+        sweep();
+    }
+
+    @Scheduled(fixedDelayString = "${jobhunter.subscriptions.expiry-sweep.interval-ms:60000}",
+            initialDelayString = "${jobhunter.subscriptions.expiry-sweep.interval-ms:60000}")
+    public void sweep() {
+        Instant now = Instant.now();
+        int total = 0;
+        int expired;
+        do {
+            Integer updated = this.transactionTemplate.execute(status -> expireBatch(now));
+            expired = updated == null ? 0 : updated;
+            total += expired;
+        } while (expired == this.batchSize);
+
+        if (total > 0) {
+            System.out.println(">>> SUBSCRIPTION EXPIRY SWEEP: " + total + " subscriptions expired");
+        }
+    }
+
+    private int expireBatch(Instant now) {
+        List<Long> ids = this.entityManager.createQuery(
+                "select s.id from EmployerSubscription s"
+                        + " where s.status = :active and s.endDate <= :now order by s.id",
+                Long.class)
+                .setParameter("active", ACTIVE)
+                .setParameter("now", now)
+                .setMaxResults(this.batchSize)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        this.entityManager.createQuery(
+                "update EmployerSubscription s set s.status = :expired"
+                        + " where s.id in :ids and s.status = :active")
+                .setParameter("expired", EXPIRED)
+                .setParameter("active", ACTIVE)
+                .setParameter("ids", ids)
+                .executeUpdate();
+        return ids.size();
+    }
+
+    private void ensureIndex() {
+        Integer table = this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.TABLES"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+                Integer.class, this.tableName);
+        if (table == null || table == 0) {
+            System.out.println(">>> SUBSCRIPTION EXPIRY SWEEP: table " + this.tableName + " not found, skip index");
+            return;
+        }
+
+        Integer index = this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.STATISTICS"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = 'idx_subscriptions_user_status'",
+                Integer.class, this.tableName);
+        if (index == null || index == 0) {
+            this.jdbcTemplate.execute("CREATE INDEX idx_subscriptions_user_status ON "
+                    + this.tableName + " (user_id, status)");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package vn.hstore.jobhunter.util;
+
+/**
+ * Min-heap cố định k phần tử (id, điểm) trên mảng nguyên thủy để lấy top-K
+ * mà không cần sắp xếp toàn bộ ứng viên. Có thể clear() và dùng lại.
+ */
+public class TopKHeap {
+
+    private final int capacity;
+    private final long[] ids;
+    private final double[] scores;
+    private int size;
+
+    public TopKHeap(int capacity) {
+        this.capacity = capacity;
+        this.ids = new long[capacity];
+        this.scores = new double[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void offer(long id, double score) {
+        if (capacity == 0) {
+            return;
+        }
+        if (size < capacity) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (less(ids[0], scores[0], id, score)) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Gộp các phần tử của heap khác vào heap này (dùng khi gộp kết quả tính song song)
+     */
+    public void addAll(TopKHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.ids[i], other.scores[i]);
+        }
+    }
+
+    /**
+     * Lấy kết quả theo điểm giảm dần (cùng điểm thì id lớn hơn trước). Heap rỗng sau khi gọi.
+     */
+    public int drainDescending(long[] outIds, double[] outScores) {
+        int n = size;
+        for (int i = n - 1; i >= 0; i--) {
+            outIds[i] = ids[0];
+            outScores[i] = scores[0];
+            size--;
+            if (size > 0) {
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+        }
+        return n;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(ids[i], scores[i], ids[parent], scores[parent])) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && less(ids[right], scores[right], ids[left], scores[left])) {
+                smallest = right;
+            }
+            if (!less(ids[smallest], scores[smallest], ids[i], scores[i])) {
+                break;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private static boolean less(long idA, double scoreA, long idB, double scoreB) {
+        return scoreA < scoreB || (scoreA == scoreB && idA < idB);
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
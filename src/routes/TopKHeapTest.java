@@ -0,0 +1,111 @@
+package vn.hstore.jobhunter.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TopKHeapTest {
+
+    @Test
+    void keepsHighestScoresInDescendingOrder() {
+        TopKHeap heap = new TopKHeap(3);
+        heap.offer(1, 0.5);
+        heap.offer(2, 0.9);
+        heap.offer(3, 0.1);
+        heap.offer(4, 0.7);
+        heap.offer(5, 0.3);
+
+        long[] ids = new long[3];
+        double[] scores = new double[3];
+        assertEquals(3, heap.drainDescending(ids, scores));
+        assertArrayEquals(new long[] { 2, 4, 1 }, ids);
+        assertArrayEquals(new double[] { 0.9, 0.7, 0.5 }, scores);
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void equalScoresPreferLargerId() {
+        TopKHeap heap = new TopKHeap(2);
+        heap.offer(10, 1.0);
+        heap.offer(30, 1.0);
+        heap.offer(20, 1.0);
+
+        long[] ids = new long[2];
+        heap.drainDescending(ids, new double[2]);
+        assertArrayEquals(new long[] { 30, 20 }, ids);
+    }
+
+    @Test
+    void returnsFewerThanCapacityWhenUnderfilled() {
+        TopKHeap heap = new TopKHeap(5);
+        heap.offer(1, 0.2);
+        heap.offer(2, 0.4);
+
+        long[] ids = new long[5];
+        assertEquals(2, heap.drainDescending(ids, new double[5]));
+        assertArrayEquals(new long[] { 2, 1 }, Arrays.copyOf(ids, 2));
+    }
+
+    @Test
+    void zeroCapacityIgnoresOffers() {
+        TopKHeap heap = new TopKHeap(0);
+        heap.offer(1, 1.0);
+        assertEquals(0, heap.size());
+        assertEquals(0, heap.drainDescending(new long[0], new double[0]));
+    }
+
+    @Test
+    void clearAllowsReuse() {
+        TopKHeap heap = new TopKHeap(2);
+        heap.offer(1, 1.0);
+        heap.offer(2, 2.0);
+        heap.clear();
+        heap.offer(3, 0.5);
+
+        long[] ids = new long[2];
+        assertEquals(1, heap.drainDescending(ids, new double[2]));
+        assertEquals(3, ids[0]);
+    }
+
+    @Test
+    void mergedPartialHeapsMatchFullSort() {
+        Random random = new Random(3);
+        int count = 1000;
+        int k = 25;
+        long[] allIds = new long[count];
+        double[] allScores = new double[count];
+        TopKHeap left = new TopKHeap(k);
+        TopKHeap right = new TopKHeap(k);
+        for (int i = 0; i < count; i++) {
+            allIds[i] = i;
+            // Điểm rời rạc để có nhiều điểm bằng nhau
+            allScores[i] = random.nextInt(50) / 10.0;
+            (i % 2 == 0 ? left : right).offer(allIds[i], allScores[i]);
+        }
+        left.addAll(right);
+
+        long[] ids = new long[k];
+        double[] scores = new double[k];
+        assertEquals(k, left.drainDescending(ids, scores));
+        assertArrayEquals(expectedTop(allIds, allScores, k), ids);
+    }
+
+    private static long[] expectedTop(long[] ids, double[] scores, int k) {
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> scores[a] != scores[b]
+                ? Double.compare(scores[b], scores[a])
+                : Long.compare(ids[b], ids[a]));
+        long[] top = new long[k];
+        for (int i = 0; i < k; i++) {
+            top[i] = ids[order[i]];
+        }
+        return top;
+    }
+}
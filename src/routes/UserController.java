@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.turkraft.springfilter.boot.Filter;
@@ -23,7 +24,6 @@ import vn.hstore.jobhunter.domain.request.UpdateUserInfoRequest;
 import vn.hstore.jobhunter.domain.response.ResCreateUserDTO;
 import vn.hstore.jobhunter.domain.response.ResUpdateUserDTO;
 import vn.hstore.jobhunter.domain.response.ResUserDTO;
-import vn.hstore.jobhunter.domain.response.ResultPaginationDTO;
 import vn.hstore.jobhunter.service.UserService;
 import vn.hstore.jobhunter.util.annotation.ApiMessage;
 import vn.hstore.jobhunter.util.error.IdInvalidException;
@@ -85,12 +85,22 @@ public class UserController {
     // fetch all users
     @GetMapping("/users")
     @ApiMessage("fetch all users")
-    public ResponseEntity<ResultPaginationDTO> getAllUser(
+    public ResponseEntity<?> getAllUser(
             @Filter Specification<User> spec,
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(required = false, name = "filter") String filter,
+            @RequestParam(required = false, name = "cursor") String cursor,
+            @RequestParam(defaultValue = "false", name = "withTotal") boolean withTotal,
+            @RequestParam(defaultValue = "false", name = "estimatedTotal") boolean estimatedTotal) throws IdInvalidException {
+
+        // Chế độ cursor: gửi cursor= (rỗng) cho trang đầu, sau đó gửi lại meta.nextCursor
+        if (cursor != null) {
+            return ResponseEntity.status(HttpStatus.OK).body(
+                    this.userService.fetchAllUserByCursor(spec, filter, pageable, cursor, withTotal));
+        }
 
         return ResponseEntity.status(HttpStatus.OK).body(
-                this.userService.fetchAllUser(spec, pageable));
+                this.userService.fetchAllUser(spec, pageable, filter, estimatedTotal));
     }
 
     @PutMapping("/users")
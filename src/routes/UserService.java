@@ -2,6 +2,7 @@ package vn.hstore.jobhunter.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
@@ -16,24 +17,39 @@ import vn.hstore.jobhunter.domain.User;
 import vn.hstore.jobhunter.domain.response.ResCreateUserDTO;
 import vn.hstore.jobhunter.domain.response.ResUpdateUserDTO;
 import vn.hstore.jobhunter.domain.response.ResUserDTO;
+import vn.hstore.jobhunter.domain.response.ResultCursorPaginationDTO;
 import vn.hstore.jobhunter.domain.response.ResultPaginationDTO;
 import vn.hstore.jobhunter.repository.UserRepository;
+import vn.hstore.jobhunter.util.KeysetPaginator;
+import vn.hstore.jobhunter.util.SpecificationQueries;
 import vn.hstore.jobhunter.util.constant.VerificationStatus;
 import vn.hstore.jobhunter.util.constant.GenderEnum;
+import vn.hstore.jobhunter.util.error.IdInvalidException;
 
 @Service
 public class UserService {
 
+    private static final Set<String> CURSOR_SORTABLE_FIELDS = Set.of("createdAt", "updatedAt", "name", "email");
+
     private final UserRepository userRepository;
     private final CompanyService companyService;
     private final RoleService roleService;
+    private final KeysetPaginator keysetPaginator;
+    private final SpecificationQueries specificationQueries;
+    private final PaginationCountCache paginationCountCache;
 
     public UserService(UserRepository userRepository,
             CompanyService companyService,
-            RoleService roleService) {
+            RoleService roleService,
+            KeysetPaginator keysetPaginator,
+            SpecificationQueries specificationQueries,
+            PaginationCountCache paginationCountCache) {
         this.userRepository = userRepository;
         this.companyService = companyService;
         this.roleService = roleService;
+        this.keysetPaginator = keysetPaginator;
+        this.specificationQueries = specificationQueries;
+        this.paginationCountCache = paginationCountCache;
     }
 
     public User getUserById(long id) {
@@ -76,11 +92,14 @@ public class UserService {
             user.setRole(defaultRole);
         }
 
-        return this.userRepository.save(user);
+        User savedUser = this.userRepository.save(user);
+        this.paginationCountCache.invalidate(PaginationCountCache.USERS);
+        return savedUser;
     }
 
     public void handleDeleteUser(long id) {
         this.userRepository.deleteById(id);
+        this.paginationCountCache.invalidate(PaginationCountCache.USERS);
     }
 
     public User fetchUserById(long id) {
@@ -91,29 +110,66 @@ public class UserService {
         return null;
     }
 
-    public ResultPaginationDTO fetchAllUser(Specification<User> spec, Pageable pageable) {
-        Page<User> pageUser = this.userRepository.findAll(spec, pageable);
+    /**
+     * Meta.total lấy từ PaginationCountCache theo chuỗi filter,
+     * estimatedTotal=true cho phép trả về tổng cũ trong lúc đếm lại ở nền
+     */
+    @Transactional(readOnly = true)
+    public ResultPaginationDTO fetchAllUser(Specification<User> spec, Pageable pageable,
+            String filter, boolean estimatedTotal) {
+        List<User> content = this.specificationQueries.findPageContent(User.class, spec, pageable);
+        long total = this.paginationCountCache.count(
+                PaginationCountCache.USERS,
+                PaginationCountCache.fingerprint("all", filter),
+                estimatedTotal,
+                () -> this.specificationQueries.count(User.class, spec));
+        return toResultPagination(pageable, content, total, true);
+    }
+
+    private ResultPaginationDTO toResultPagination(Pageable pageable, List<User> content, long total,
+            boolean removeSensitiveData) {
         ResultPaginationDTO rs = new ResultPaginationDTO();
         ResultPaginationDTO.Meta mt = new ResultPaginationDTO.Meta();
 
         mt.setPage(pageable.getPageNumber() + 1);
         mt.setPageSize(pageable.getPageSize());
 
-        mt.setPages(pageUser.getTotalPages());
-        mt.setTotal(pageUser.getTotalElements());
+        mt.setPages(pageable.getPageSize() == 0 ? 1 : (int) Math.ceil((double) total / pageable.getPageSize()));
+        mt.setTotal(total);
 
         rs.setMeta(mt);
 
-        // remove sensitive data
-        List<ResUserDTO> listUser = pageUser.getContent()
-                .stream().map(item -> this.convertToResUserDTO(item))
-                .collect(Collectors.toList());
-
-        rs.setResult(listUser);
+        if (removeSensitiveData) {
+            // remove sensitive data
+            List<ResUserDTO> listUser = content
+                    .stream().map(item -> this.convertToResUserDTO(item))
+                    .collect(Collectors.toList());
+            rs.setResult(listUser);
+        } else {
+            rs.setResult(content);
+        }
 
         return rs;
     }
 
+    @Transactional(readOnly = true)
+    public ResultCursorPaginationDTO fetchAllUserByCursor(Specification<User> spec, String filter,
+            Pageable pageable, String cursor, boolean withTotal) throws IdInvalidException {
+        return this.keysetPaginator.fetch(
+                User.class,
+                spec,
+                pageable.getSort(),
+                CURSOR_SORTABLE_FIELDS,
+                cursor,
+                pageable.getPageSize(),
+                !withTotal ? null : () -> this.paginationCountCache.count(
+                        PaginationCountCache.USERS,
+                        PaginationCountCache.fingerprint("all", filter),
+                        false,
+                        () -> this.specificationQueries.count(User.class, spec)),
+                this::convertToResUserDTO);
+    }
+
     // public User handleUpdateUser(User reqUser) {
     //     User currentUser = this.fetchUserById(reqUser.getId());
     //     if (currentUser != null) {
@@ -169,6 +225,7 @@ public class UserService {
 
             // Update user
             currentUser = this.userRepository.save(currentUser);
+            this.paginationCountCache.invalidate(PaginationCountCache.USERS);
         }
         return currentUser;
     }
@@ -274,24 +331,24 @@ public class UserService {
 
     public ResultPaginationDTO getUsers(Specification<User> spec, Pageable pageable) {
         Page<User> pUser = this.userRepository.findAll(spec, pageable);
-        ResultPaginationDTO rs = new ResultPaginationDTO();
-        ResultPaginationDTO.Meta mt = new ResultPaginationDTO.Meta();
-
-        mt.setPage(pageable.getPageNumber() + 1);
-        mt.setPageSize(pageable.getPageSize());
-
-        mt.setPages(pUser.getTotalPages());
-        mt.setTotal(pUser.getTotalElements());
+        return toResultPagination(pageable, pUser.getContent(), pUser.getTotalElements(), false);
+    }
 
-        rs.setMeta(mt);
-        rs.setResult(pUser.getContent());
-        return rs;
+    @Transactional(readOnly = true)
+    public ResultPaginationDTO getUsers(Specification<User> spec, Pageable pageable, String fingerprint) {
+        List<User> content = this.specificationQueries.findPageContent(User.class, spec, pageable);
+        long total = this.paginationCountCache.count(
+                PaginationCountCache.USERS,
+                fingerprint,
+                false,
+                () -> this.specificationQueries.count(User.class, spec));
+        return toResultPagination(pageable, content, total, false);
     }
     
     /**
      * Lấy danh sách nhà tuyển dụng đang chờ xác minh
      */
-    public ResultPaginationDTO getPendingEmployers(Specification<User> spec, Pageable pageable) {
+    public ResultPaginationDTO getPendingEmployers(Specification<User> spec, Pageable pageable, String filter) {
         // Tạo specification để lọc nhà tuyển dụng đang chờ xác minh
         Specification<User> pendingSpec = (root, query, criteriaBuilder) -> {
             return criteriaBuilder.and(
@@ -303,7 +360,7 @@ public class UserService {
         // Kết hợp với specification được truyền vào
         Specification<User> combinedSpec = spec.and(pendingSpec);
         
-        return getUsers(combinedSpec, pageable);
+        return getUsers(combinedSpec, pageable, PaginationCountCache.fingerprint("pending-employers", filter));
     }
     
     /**
@@ -325,7 +382,9 @@ public class UserService {
             user.setVerificationStatus(status);
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        this.paginationCountCache.invalidate(PaginationCountCache.USERS);
+        return savedUser;
     }
 
     @Transactional
@@ -357,6 +416,7 @@ public class UserService {
         // Cập nhật công ty cho HR
         hr.setCompany(company);
         User updatedUser = userRepository.save(hr);
+        this.paginationCountCache.invalidate(PaginationCountCache.USERS);
         
         // Chuyển đổi sang DTO và trả về
         return convertToResUserDTO(updatedUser);
@@ -393,6 +453,8 @@ public class UserService {
             hr.setBusinessLicense(businessLicense);
             hr = userRepository.save(hr);
         }
+        // Danh sách user có thể lọc theo công ty
+        this.paginationCountCache.invalidate(PaginationCountCache.USERS);
         
         // Chuyển đổi sang DTO và trả về
         return convertToResUserDTO(hr);
@@ -441,6 +503,7 @@ public class UserService {
         
         // Lưu thông tin HR đã cập nhật
         hr = userRepository.save(hr);
+        this.paginationCountCache.invalidate(PaginationCountCache.USERS);
         
         // Chuyển đổi sang DTO và trả về
         return convertToResUserDTO(hr);
@@ -483,6 +546,7 @@ public class UserService {
         
         // Lưu thông tin HR đã cập nhật
         hr = userRepository.save(hr);
+        this.paginationCountCache.invalidate(PaginationCountCache.USERS);
         
         // Chuyển đổi sang DTO và trả về
         return convertToResUserDTO(hr);
@@ -0,0 +1,50 @@
+package vn.hstore.jobhunter.util;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Bỏ dấu tiếng Việt và chữ hoa để "Hà Nội", "Ha Noi", "HA NOI" cho cùng một kết quả.
+ */
+public final class VietnameseTextFolder {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}.+#]+");
+
+    private VietnameseTextFolder() {
+    }
+
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * fold rồi bỏ hết khoảng trắng / gạch nối: "Bà Rịa - Vũng Tàu" -> "bariavungtau"
+     */
+    public static String foldCompact(String text) {
+        return fold(text).replaceAll("[\\s_\\-]+", "");
+    }
+
+    public static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : TOKEN_SEPARATOR.split(fold(text))) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}